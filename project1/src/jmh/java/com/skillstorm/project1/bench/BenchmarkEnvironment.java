@@ -0,0 +1,118 @@
+package com.skillstorm.project1.bench;
+
+import java.io.IOException;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.skillstorm.project1.Project1Application;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * The application running against a private embedded PostgreSQL, seeded with a
+ * warehouses-by-products inventory grid.
+ * <p>
+ * Every warehouse stocks every product, so the inventory table holds
+ * {@code warehouses * productsPerWarehouse} rows. Quantities are derived from the IDs,
+ * so each run sees the same data. Hibernate creates the schema and {@code schema.sql}
+ * adds the indexes and triggers, exactly as in production.
+ * </p>
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+
+    private static final int SUPPLIERS = 20;
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkEnvironment(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    /**
+     * Starts a database and the application, and seeds the data.
+     *
+     * @param warehouses           number of warehouses
+     * @param productsPerWarehouse number of products, each stocked in every warehouse
+     * @return the running environment
+     * @throws IOException if the database cannot be started
+     */
+    static BenchmarkEnvironment start(int warehouses, int productsPerWarehouse) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try {
+            // Command-line arguments, so they take precedence over application.properties
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(Project1Application.class).run(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--server.port=0",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN");
+            seed(context.getBean(JdbcTemplate.class), warehouses, productsPerWarehouse);
+            return new BenchmarkEnvironment(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc, int warehouses, int productsPerWarehouse) {
+        jdbc.update("""
+                INSERT INTO suppliers (name, contact_email, phone, address)
+                SELECT 'Supplier ' || g, 'supplier' || g || '@bench.test', '555-0100', g || ' Bench St'
+                  FROM generate_series(1, ?) g
+                """, SUPPLIERS);
+        jdbc.update("""
+                INSERT INTO warehouses (name, location, capacity)
+                SELECT 'Warehouse ' || g, 'Bench', 2000000000
+                  FROM generate_series(1, ?) g
+                """, warehouses);
+        jdbc.update("""
+                INSERT INTO products (product_name, price, category, supplier_id)
+                SELECT 'Product ' || g, (g % 500) + 0.99, 'Category ' || (g % 12), s.supplier_id
+                  FROM generate_series(1, ?) g
+                  JOIN (SELECT supplier_id, row_number() OVER (ORDER BY supplier_id) - 1 AS n FROM suppliers) s
+                    ON s.n = g % ?
+                """, productsPerWarehouse, SUPPLIERS);
+        jdbc.update("""
+                INSERT INTO inventory (warehouse_id, product_id, quantity, minimum_stock, warehouse_location, last_updated)
+                SELECT w.warehouse_id, p.product_id, (w.warehouse_id * 31 + p.product_id * 17) % 500, 10,
+                       p.product_id % 40, now()
+                  FROM warehouses w CROSS JOIN products p
+                """);
+        jdbc.execute("ANALYZE");
+    }
+
+    /**
+     * Returns an application bean.
+     *
+     * @param type bean type
+     * @param <T>  bean type
+     * @return the bean
+     */
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Returns the ID of the first seeded warehouse.
+     *
+     * @return a warehouse ID
+     */
+    long firstWarehouseId() {
+        return bean(JdbcTemplate.class).queryForObject("SELECT min(warehouse_id) FROM warehouses", Long.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
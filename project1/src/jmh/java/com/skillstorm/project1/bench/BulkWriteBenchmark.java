@@ -0,0 +1,142 @@
+package com.skillstorm.project1.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.project1.dtos.ImportResult;
+import com.skillstorm.project1.models.Checkout;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.RestockOrder;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.repositories.CheckoutRepository;
+import com.skillstorm.project1.repositories.RestockOrderRepository;
+import com.skillstorm.project1.services.InventoryImportService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Bulk write throughput, in rows per second: {@value #ROWS} checkouts or restock orders
+ * saved through JPA in one transaction, and a {@value #ROWS}-row CSV inventory import.
+ * <p>
+ * The JPA workloads show the effect of ID generation on insert batching: with
+ * {@code IDENTITY} every row is a separate round trip, with a pooled sequence the rows
+ * are sent in JDBC batches. The import streams through COPY and takes its IDs from the
+ * column default, so it should not change.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkWriteBenchmark {
+
+    private static final int WAREHOUSES = 5;
+    private static final int PRODUCTS = 1000;
+    private static final int ROWS = 1000;
+
+    private BenchmarkEnvironment environment;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private CheckoutRepository checkoutRepository;
+    private RestockOrderRepository restockRepository;
+    private InventoryImportService importService;
+    private long[] warehouseIds;
+    private long[] productIds;
+    private long[] supplierIds;
+    private byte[] csv;
+    private long nextRestockRef;
+
+    @Setup
+    public void start() throws IOException {
+        environment = BenchmarkEnvironment.start(WAREHOUSES, PRODUCTS);
+        transactionTemplate = environment.bean(TransactionTemplate.class);
+        entityManager = environment.bean(EntityManager.class);
+        checkoutRepository = environment.bean(CheckoutRepository.class);
+        restockRepository = environment.bean(RestockOrderRepository.class);
+        importService = environment.bean(InventoryImportService.class);
+
+        JdbcTemplate jdbc = environment.bean(JdbcTemplate.class);
+        warehouseIds = jdbc.queryForList("SELECT warehouse_id FROM warehouses ORDER BY 1", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        List<Long[]> products = jdbc.query("SELECT product_id, supplier_id FROM products ORDER BY 1",
+                (rs, row) -> new Long[] { rs.getLong(1), rs.getLong(2) });
+        productIds = products.stream().mapToLong(p -> p[0]).toArray();
+        supplierIds = products.stream().mapToLong(p -> p[1]).toArray();
+
+        StringBuilder rows = new StringBuilder("warehouseId,productId,quantity,minimumStock,warehouseLocation\n");
+        for (int i = 0; i < ROWS; i++) {
+            rows.append(warehouseIds[i % WAREHOUSES]).append(',').append(productIds[i % PRODUCTS])
+                .append(',').append(100 + i % 50).append(",10,").append(i % 40).append('\n');
+        }
+        csv = rows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void stop() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int checkouts() {
+        return transactionTemplate.execute(status -> {
+            List<Checkout> checkouts = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                checkouts.add(new Checkout(warehouse(i), product(i), 1, "bench@bench.test"));
+            }
+            return checkoutRepository.saveAll(checkouts).size();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int restocks() {
+        return transactionTemplate.execute(status -> {
+            List<RestockOrder> orders = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                RestockOrder order = new RestockOrder(warehouse(i), product(i),
+                        entityManager.getReference(Supplier.class, supplierIds[i % PRODUCTS]), 5, "bench@bench.test");
+                order.setRestockRef(++nextRestockRef);
+                orders.add(order);
+            }
+            return restockRepository.saveAll(orders).size();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportResult importCsv() throws IOException, SQLException {
+        return importService.importInventory(new ByteArrayInputStream(csv), InventoryImportService.Format.CSV);
+    }
+
+    private Warehouse warehouse(int i) {
+        return entityManager.getReference(Warehouse.class, warehouseIds[i % WAREHOUSES]);
+    }
+
+    private Product product(int i) {
+        return entityManager.getReference(Product.class, productIds[i % PRODUCTS]);
+    }
+}
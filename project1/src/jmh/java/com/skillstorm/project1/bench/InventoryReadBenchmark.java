@@ -0,0 +1,85 @@
+package com.skillstorm.project1.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.skillstorm.project1.dtos.Versioned;
+import com.skillstorm.project1.dtos.WarehouseTotals;
+import com.skillstorm.project1.services.InventoryService;
+import com.skillstorm.project1.services.WarehouseService;
+
+/**
+ * Service-level read paths against an embedded PostgreSQL, at several data sizes.
+ * <p>
+ * {@code warehouseTotals} clears the totals cache before each call, so it measures the
+ * GROUP BY query; {@code warehouseTotalsCached} measures a cache hit under the current
+ * tag, as the controller makes it. Each trial starts
+ * a fresh database, so the larger parameter sets take a while to seed.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryReadBenchmark {
+
+    @Param({ "5", "50" })
+    public int warehouses;
+
+    @Param({ "1000", "10000" })
+    public int productsPerWarehouse;
+
+    private BenchmarkEnvironment environment;
+    private WarehouseService warehouseService;
+    private InventoryService inventoryService;
+    private Cache totalsCache;
+    private long warehouseId;
+
+    @Setup
+    public void start() throws IOException {
+        environment = BenchmarkEnvironment.start(warehouses, productsPerWarehouse);
+        warehouseService = environment.bean(WarehouseService.class);
+        inventoryService = environment.bean(InventoryService.class);
+        totalsCache = environment.bean(CacheManager.class).getCache(WarehouseService.TOTALS_CACHE);
+        warehouseId = environment.firstWarehouseId();
+    }
+
+    @TearDown
+    public void stop() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public Versioned<List<WarehouseTotals>> warehouseTotals() {
+        totalsCache.clear();
+        return warehouseService.findAllWarehousesWithTotals(warehouseService.getWarehouseTotalsEtag());
+    }
+
+    @Benchmark
+    public Versioned<List<WarehouseTotals>> warehouseTotalsCached() {
+        return warehouseService.findAllWarehousesWithTotals(warehouseService.getWarehouseTotalsEtag());
+    }
+
+    @Benchmark
+    public int totalStockByWarehouseId() {
+        return inventoryService.getTotalStockByWarehouseId(warehouseId);
+    }
+}
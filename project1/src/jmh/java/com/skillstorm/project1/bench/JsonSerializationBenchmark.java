@@ -0,0 +1,156 @@
+package com.skillstorm.project1.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.project1.dtos.CheckoutRow;
+import com.skillstorm.project1.dtos.InventoryView;
+import com.skillstorm.project1.models.Checkout;
+import com.skillstorm.project1.models.Inventory;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+
+/**
+ * Jackson serialization of inventory and checkout lists, no database involved.
+ * <p>
+ * The {@code Nested} variants serialize entities with their product, supplier and
+ * warehouse attached; the {@code Flat} variants the same entities with those
+ * associations left unset; the read-model variants the DTOs the endpoints return.
+ * The mapper is the one Spring Boot's Jackson auto-configuration builds from
+ * {@code application.properties}, so settings such as ISO dates match the endpoints.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int SUPPLIERS = 20;
+
+    @Param({ "100", "10000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Inventory> inventoryNested;
+    private List<Inventory> inventoryFlat;
+    private List<InventoryView> inventoryViews;
+    private List<Checkout> checkoutsNested;
+    private List<Checkout> checkoutsFlat;
+    private List<CheckoutRow> checkoutRows;
+
+    @Setup
+    public void createData() {
+        objectMapper = bootObjectMapper();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        Warehouse warehouse = new Warehouse("Warehouse 1", "Bench", 2_000_000_000);
+        warehouse.setWarehouseId(1L);
+        List<Supplier> suppliers = new ArrayList<>();
+        for (int i = 0; i < SUPPLIERS; i++) {
+            Supplier supplier = new Supplier("Supplier " + i, "supplier" + i + "@bench.test", "555-0100", i + " Bench St");
+            supplier.setSupplierId((long) i + 1);
+            suppliers.add(supplier);
+        }
+
+        inventoryNested = new ArrayList<>(size);
+        inventoryFlat = new ArrayList<>(size);
+        inventoryViews = new ArrayList<>(size);
+        checkoutsNested = new ArrayList<>(size);
+        checkoutsFlat = new ArrayList<>(size);
+        checkoutRows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            Supplier supplier = suppliers.get(i % SUPPLIERS);
+            Product product = new Product("Product " + id, (i % 500) + 0.99, "Category " + (i % 12), supplier);
+            product.setProductId(id);
+
+            inventoryNested.add(inventory(id, warehouse, product, now));
+            inventoryFlat.add(inventory(id, null, null, now));
+            inventoryViews.add(new InventoryView(id, i % 500, 10, i % 40, now,
+                    id, product.getProductName(), product.getPrice(), product.getCategory(),
+                    supplier.getSupplierId(), supplier.getName(), supplier.getContactEmail()));
+
+            checkoutsNested.add(checkout(id, warehouse, product, now));
+            checkoutsFlat.add(checkout(id, null, null, now));
+            checkoutRows.add(new CheckoutRow(id, 1 + i % 10, now, "user@bench.test",
+                    warehouse.getWarehouseId(), warehouse.getName(), id, product.getProductName()));
+        }
+    }
+
+    private static Inventory inventory(long id, Warehouse warehouse, Product product, LocalDateTime now) {
+        Inventory inventory = new Inventory(warehouse, product, (int) (id % 500), 10, (int) (id % 40));
+        inventory.setInventoryId(id);
+        inventory.setLastUpdated(now);
+        return inventory;
+    }
+
+    private static Checkout checkout(long id, Warehouse warehouse, Product product, LocalDateTime now) {
+        Checkout checkout = new Checkout(warehouse, product, 1 + (int) (id % 10), "user@bench.test");
+        checkout.setCheckoutId(id);
+        checkout.setCheckoutDate(now);
+        return checkout;
+    }
+
+    @Benchmark
+    public byte[] inventoryEntitiesNested() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventoryNested);
+    }
+
+    @Benchmark
+    public byte[] inventoryEntitiesFlat() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventoryFlat);
+    }
+
+    @Benchmark
+    public byte[] inventoryViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventoryViews);
+    }
+
+    @Benchmark
+    public byte[] checkoutEntitiesNested() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(checkoutsNested);
+    }
+
+    @Benchmark
+    public byte[] checkoutEntitiesFlat() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(checkoutsFlat);
+    }
+
+    @Benchmark
+    public byte[] checkoutRows() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(checkoutRows);
+    }
+
+    /** Runs only Boot's Jackson auto-configuration, against the application's properties. */
+    private static ObjectMapper bootObjectMapper() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN")) {
+            return context.getBean(ObjectMapper.class);
+        }
+    }
+}
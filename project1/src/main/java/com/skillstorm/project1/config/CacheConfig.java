@@ -0,0 +1,66 @@
+package com.skillstorm.project1.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillstorm.project1.services.DashboardService;
+import com.skillstorm.project1.services.ProductService;
+import com.skillstorm.project1.services.SupplierService;
+import com.skillstorm.project1.services.WarehouseService;
+
+/**
+ * Enables Spring's cache abstraction.
+ * The caching advisor is ordered ahead of the transaction advisor so that
+ * {@code @CacheEvict} on a transactional write runs after the commit, and a
+ * concurrent read cannot re-cache values from before the write.
+ * <p>
+ * Every cache is a bounded Caffeine cache that also expires entries after a fixed
+ * time, as a backstop for writes that bypass the services (e.g. manual SQL).
+ * Statistics are recorded so hit rates can be inspected at runtime.
+ * </p>
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /**
+     * Creates the cache manager and registers the application's caches.
+     * Caches holding a single whole-table listing keep one entry; caches keyed by ID
+     * are bounded by {@code stocksmart.cache.maximum-size}.
+     *
+     * @param ttl         how long an entry may be served after it was loaded
+     * @param maximumSize maximum number of entries in each per-ID cache
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${stocksmart.cache.ttl:10m}") Duration ttl,
+                                     @Value("${stocksmart.cache.maximum-size:10000}") long maximumSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        register(cacheManager, DashboardService.KPI_CACHE, 1, ttl);
+        register(cacheManager, WarehouseService.TOTALS_CACHE, 1, ttl);
+        register(cacheManager, WarehouseService.WAREHOUSE_CACHE, maximumSize, ttl);
+        register(cacheManager, ProductService.PRODUCT_LIST_CACHE, 1, ttl);
+        register(cacheManager, ProductService.PRODUCT_CACHE, maximumSize, ttl);
+        register(cacheManager, SupplierService.SUPPLIER_LIST_CACHE, 1, ttl);
+        register(cacheManager, SupplierService.SUPPLIER_CACHE, maximumSize, ttl);
+
+        return cacheManager;
+    }
+
+    private void register(CaffeineCacheManager cacheManager, String name, long maximumSize, Duration ttl) {
+        cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
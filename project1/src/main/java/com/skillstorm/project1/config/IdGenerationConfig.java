@@ -0,0 +1,224 @@
+package com.skillstorm.project1.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.skillstorm.project1.models.PooledSequence;
+import com.skillstorm.project1.models.PooledSequenceGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Pooled sequence IDs: every entity takes its ID from a sequence that hands out
+ * {@code stocksmart.id.allocation-size} values per call, so Hibernate can batch inserts.
+ * <p>
+ * Hibernate refuses to start if a sequence's increment differs from the allocation size,
+ * so the identity columns of older schemas are converted before the entity manager factory
+ * is created. An existing sequence whose increment differs is only altered when
+ * {@code stocksmart.id.force-allocation-size} is set: instances still running with the old
+ * size would otherwise hand out overlapping IDs. Sequences that do not exist yet are
+ * created by Hibernate with the right increment, and once it has created their columns
+ * each sequence becomes its column's default, for the SQL that inserts without an ID.
+ * The tables, columns and sequences all come from the {@link PooledSequence} annotations.
+ * </p>
+ * <p>
+ * Both steps run in a transaction holding an advisory lock, so instances starting
+ * together do not convert the same column twice.
+ * </p>
+ */
+@Configuration
+public class IdGenerationConfig {
+
+    /** Key of the transaction-level advisory lock the sequence changes are made under. */
+    public static final long MIGRATION_LOCK_KEY = 0x5345_5153;
+
+    private static final String SEQUENCE_MIGRATION = "pooledSequenceMigration";
+
+    /**
+     * A pooled ID column and the sequence it is drawn from.
+     *
+     * @param sequence the sequence name
+     * @param table    the entity's table
+     * @param column   the ID column
+     */
+    record PooledId(String sequence, String table, String column) {
+    }
+
+    /**
+     * Passes the allocation size to {@link PooledSequenceGenerator}.
+     *
+     * @param allocationSize IDs reserved per sequence call
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer allocationSizeCustomizer(
+            @Value("${stocksmart.id.allocation-size:50}") int allocationSize) {
+        return properties -> properties.put(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+    }
+
+    /**
+     * Brings existing ID sequences in line with the allocation size: identity columns are
+     * turned into plain columns defaulting to a sequence of that name, and other sequences
+     * are checked against it.
+     *
+     * @param dataSource     the application's data source
+     * @param allocationSize IDs reserved per sequence call
+     * @param force          whether to alter sequences whose increment differs from the allocation size
+     * @return a bean that applies the changes, in one transaction, when it is initialized
+     * @throws IllegalStateException if a sequence's increment differs from the allocation
+     *                               size and {@code force} is not set
+     */
+    @Bean(SEQUENCE_MIGRATION)
+    public InitializingBean pooledSequenceMigration(DataSource dataSource,
+            @Value("${stocksmart.id.allocation-size:50}") int allocationSize,
+            @Value("${stocksmart.id.force-allocation-size:false}") boolean force) {
+        return () -> inLockedTransaction(dataSource, jdbc -> {
+            for (PooledId id : pooledIds()) {
+                List<String> identity = jdbc.queryForList("""
+                        SELECT is_identity FROM information_schema.columns
+                         WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?
+                        """, String.class, id.table(), id.column());
+                if (identity.contains("YES")) {
+                    replaceIdentity(jdbc, id, allocationSize);
+                    continue;
+                }
+                List<Long> increment = jdbc.queryForList("""
+                        SELECT increment_by FROM pg_sequences
+                         WHERE schemaname = current_schema() AND sequencename = ?
+                        """, Long.class, id.sequence());
+                if (increment.isEmpty() || increment.get(0) == allocationSize) {
+                    continue;
+                }
+                if (!force) {
+                    throw new IllegalStateException("Sequence " + id.sequence() + " increments by " + increment.get(0)
+                            + ", not by stocksmart.id.allocation-size=" + allocationSize + ". Running instances reserve"
+                            + " IDs in blocks of the old size; stop them all and set"
+                            + " stocksmart.id.force-allocation-size=true to change it");
+                }
+                jdbc.execute("ALTER SEQUENCE " + id.sequence() + " INCREMENT BY " + allocationSize);
+            }
+        });
+    }
+
+    /**
+     * Makes each pooled sequence the default of its column, and its owner, so the SQL
+     * that inserts without an ID (COPY imports, JDBC batches, the dataset generator) takes
+     * a value from it and {@code TRUNCATE ... RESTART IDENTITY} still resets it. Such a
+     * value is never inside a block Hibernate holds, so those rows get IDs allocation-size
+     * apart. Runs once Hibernate has created any missing tables and sequences.
+     *
+     * @param dataSource the application's data source
+     * @return a bean that sets the defaults, in one transaction, when it is initialized
+     */
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean pooledSequenceDefaults(DataSource dataSource) {
+        return () -> inLockedTransaction(dataSource, jdbc -> {
+            for (PooledId id : pooledIds()) {
+                List<String> missing = jdbc.queryForList("""
+                        SELECT column_name FROM information_schema.columns
+                         WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?
+                           AND is_identity = 'NO' AND column_default IS NULL
+                        """, String.class, id.table(), id.column());
+                if (!missing.isEmpty()) {
+                    jdbc.execute("ALTER SEQUENCE " + id.sequence() + " OWNED BY " + id.table() + "." + id.column());
+                    jdbc.execute("ALTER TABLE " + id.table() + " ALTER COLUMN " + id.column()
+                            + " SET DEFAULT nextval('" + id.sequence() + "')");
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the given work in a transaction that first takes {@link #MIGRATION_LOCK_KEY}.
+     */
+    private static void inLockedTransaction(DataSource dataSource, Consumer<JdbcTemplate> work) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.queryForList("SELECT pg_advisory_xact_lock(?)", MIGRATION_LOCK_KEY);
+            work.accept(jdbc);
+        });
+    }
+
+    /**
+     * Replaces an identity column's sequence with a plain one of the same name.
+     * <p>
+     * PostgreSQL hides identity sequences from {@code information_schema.sequences}, where
+     * Hibernate looks for them, so Hibernate would try to create the sequence again on every
+     * start. The new sequence continues after both the old one and the highest ID in the
+     * table, leaving a full allocation free for the first block Hibernate takes from it.
+     * </p>
+     */
+    private static void replaceIdentity(JdbcTemplate jdbc, PooledId id, int allocationSize) {
+        Long last = jdbc.queryForObject("SELECT greatest((SELECT last_value FROM pg_sequences"
+                + " WHERE schemaname = current_schema() AND sequencename = ?), (SELECT max(" + id.column() + ") FROM "
+                + id.table() + "), 0)", Long.class, id.sequence());
+        jdbc.execute("ALTER TABLE " + id.table() + " ALTER COLUMN " + id.column() + " DROP IDENTITY");
+        jdbc.execute("CREATE SEQUENCE " + id.sequence() + " INCREMENT BY " + allocationSize + " START WITH "
+                + (last + allocationSize) + " OWNED BY " + id.table() + "." + id.column());
+        jdbc.execute("ALTER TABLE " + id.table() + " ALTER COLUMN " + id.column()
+                + " SET DEFAULT nextval('" + id.sequence() + "')");
+    }
+
+    /**
+     * Returns every field annotated with {@link PooledSequence} in the entity package, with
+     * the table and column it maps to under Spring Boot's default naming strategy.
+     */
+    private static List<PooledId> pooledIds() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+
+        List<PooledId> ids = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(PooledSequence.class.getPackageName())) {
+            Class<?> entity = ClassUtils.resolveClassName(candidate.getBeanClassName(), IdGenerationConfig.class.getClassLoader());
+            Table table = entity.getAnnotation(Table.class);
+            String tableName = table != null && !table.name().isEmpty() ? table.name() : snakeCase(entity.getSimpleName());
+            ReflectionUtils.doWithFields(entity, field -> {
+                Column column = field.getAnnotation(Column.class);
+                String columnName = column != null && !column.name().isEmpty() ? column.name() : snakeCase(field.getName());
+                ids.add(new PooledId(field.getAnnotation(PooledSequence.class).value(), tableName, columnName));
+            }, field -> field.isAnnotationPresent(PooledSequence.class));
+        }
+        return ids;
+    }
+
+    /**
+     * Converts a Java name to the lower snake case Hibernate uses for unnamed tables and columns.
+     */
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Makes the entity manager factory wait for the sequence migration.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class SequenceMigrationDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        SequenceMigrationDependency() {
+            super(SEQUENCE_MIGRATION);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.skillstorm.project1.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enables {@code @Timed} on application beans.
+ * <p>
+ * Most metrics come from Spring Boot's auto-configuration and are exposed at
+ * {@code /actuator/prometheus}: {@code http.server.requests} per controller endpoint,
+ * {@code spring.data.repository.invocations} per Spring Data repository method,
+ * {@code hikaricp.connections.*} for the pool and {@code hibernate.*} statistics. The
+ * timers below cover what those do not: the write and totals paths of the services,
+ * and the JDBC repositories that are not Spring Data repositories.
+ * </p>
+ * <p>
+ * The caching advisor runs ahead of the timed one, so service timers measure cache
+ * misses only; the HTTP timer includes hits.
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Timer for selected service methods, tagged with class and method. */
+    public static final String SERVICE_TIMER = "stocksmart.service";
+
+    /** Timer for JDBC repository methods, tagged with class and method. */
+    public static final String REPOSITORY_TIMER = "stocksmart.repository";
+
+    /**
+     * Creates the aspect that records {@code @Timed} methods and classes.
+     *
+     * @param meterRegistry registry the timers are recorded in
+     * @return the aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,342 @@
+package com.skillstorm.project1.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.skillstorm.project1.services.ReferenceIdGenerator;
+
+/**
+ * Provides the {@link ReferenceIdGenerator} and gives each running instance its own node ID.
+ * <p>
+ * The node ID is reserved with a PostgreSQL advisory lock, held on a dedicated connection
+ * for as long as the application runs, so instances sharing a database cannot use the same
+ * node ID at once. PostgreSQL drops the lock when the connection closes, including when an
+ * instance dies. Without {@code stocksmart.reference.node-id} the first free ID is taken.
+ * </p>
+ * <p>
+ * There are only 16 node IDs, and every running application context holds one, including
+ * each context a test run keeps cached. The lease is checked every second; if its
+ * connection or lock is gone, or no check has succeeded lately, the generator refuses to
+ * issue IDs until the same node ID is re-acquired (see {@link NodeLease}).
+ * </p>
+ */
+@Configuration
+public class ReferenceIdConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceIdConfig.class);
+
+    /** First key of the two-key advisory locks that reserve node IDs; the node ID is the second. */
+    public static final int NODE_LOCK_KEY = 0x5245_4649;
+
+    /** Interval of the lease check, and timeout of each of its round trips. */
+    static final int CHECK_SECONDS = 1;
+
+    /** How long one successful lease check lets the generator keep issuing IDs. */
+    static final int LEASE_SECONDS = 3;
+
+    /**
+     * Reserves a node ID for this instance.
+     *
+     * @param dataSourceProperties connection settings of the application database
+     * @param nodeId               node ID to reserve, or a negative value for the first free one
+     * @return the reservation, released when the context closes
+     * @throws SQLException if the database cannot be reached
+     */
+    @Bean
+    public NodeLease referenceNodeLease(DataSourceProperties dataSourceProperties,
+            @Value("${stocksmart.reference.node-id:-1}") int nodeId) throws SQLException {
+        if (nodeId > ReferenceIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("stocksmart.reference.node-id must be at most " + ReferenceIdGenerator.MAX_NODE_ID);
+        }
+        int first = nodeId < 0 ? 0 : nodeId;
+        int last = nodeId < 0 ? ReferenceIdGenerator.MAX_NODE_ID : nodeId;
+
+        Connection connection = NodeLease.connect(dataSourceProperties);
+        String holders;
+        try {
+            for (int candidate = first; candidate <= last; candidate++) {
+                long started = System.nanoTime();
+                if (NodeLease.tryLock(connection, candidate)) {
+                    log.info("Issuing reference IDs as node {}", candidate);
+                    return new NodeLease(candidate, dataSourceProperties, connection, started);
+                }
+            }
+            holders = describeHolders(connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        String message = nodeId < 0
+                ? "All " + (ReferenceIdGenerator.MAX_NODE_ID + 1) + " reference node IDs are in use: " + holders
+                : "Reference node ID " + nodeId + " is in use: " + holders;
+        log.error("{}. Every running instance holds a node ID for its lifetime, and so does every application"
+                + " context a test run keeps cached; stop an instance or close its contexts to free one", message);
+        throw new IllegalStateException(message);
+    }
+
+    /**
+     * Lists the connections holding node IDs, for the error raised when none is free.
+     *
+     * @param connection any connection to the database
+     * @return the holders, one {@code node N: pid P from ADDRESS since TIME} entry per node ID
+     * @throws SQLException if the lookup fails
+     */
+    private static String describeHolders(Connection connection) throws SQLException {
+        StringJoiner holders = new StringJoiner(", ");
+        try (PreparedStatement query = connection.prepareStatement("""
+                SELECT l.objid, a.pid, coalesce(host(a.client_addr), 'local socket'), a.backend_start
+                  FROM pg_locks l
+                  JOIN pg_stat_activity a ON a.pid = l.pid
+                 WHERE l.locktype = 'advisory' AND l.classid::bigint = ? AND l.objsubid = 2 AND l.granted
+                 ORDER BY l.objid
+                """)) {
+            query.setLong(1, NODE_LOCK_KEY);
+            try (ResultSet result = query.executeQuery()) {
+                while (result.next()) {
+                    holders.add("node " + result.getLong(1) + ": pid " + result.getInt(2) + " from " + result.getString(3)
+                            + " since " + result.getObject(4, OffsetDateTime.class));
+                }
+            }
+        }
+        return holders.toString();
+    }
+
+    /**
+     * Creates the application's reference ID generator.
+     *
+     * @param lease this instance's node ID reservation
+     * @return the generator, which refuses to issue IDs while the lease is lost
+     */
+    @Bean
+    public ReferenceIdGenerator referenceIdGenerator(NodeLease lease) {
+        return new ReferenceIdGenerator(lease.nodeId(), Clock.systemUTC(), lease);
+    }
+
+    /**
+     * A node ID reserved for this instance, and the connection holding the reservation.
+     * <p>
+     * Each successful check vouches for the reservation for {@code LEASE_SECONDS}; past that
+     * the generator checks again before issuing and refuses if the check fails, so a lost
+     * lock stops this instance within that time even if the scheduled check is late. After taking the node ID, at startup or after losing
+     * it, a lease issues nothing for {@code LEASE_SECONDS} plus the generator's maximum
+     * run-ahead, by which time a previous holder has stopped and the clock has passed every
+     * ID it issued.
+     * </p>
+     */
+    public static final class NodeLease implements ReferenceIdGenerator.NodeReservation, AutoCloseable {
+
+        private static final long LEASE_NANOS = TimeUnit.SECONDS.toNanos(LEASE_SECONDS);
+        private static final long HOLD_BACK_NANOS = LEASE_NANOS
+                + TimeUnit.MILLISECONDS.toNanos(ReferenceIdGenerator.MAX_RUN_AHEAD_MILLIS);
+
+        private final int nodeId;
+        private final DataSourceProperties dataSourceProperties;
+        private final ReentrantLock lock = new ReentrantLock();
+        private Connection connection;
+        private boolean closed;
+        private volatile boolean held;
+        private volatile long confirmedNanos;
+        private volatile long issuableNanos;
+
+        NodeLease(int nodeId, DataSourceProperties dataSourceProperties, Connection connection, long lockedNanos) {
+            this.nodeId = nodeId;
+            this.dataSourceProperties = dataSourceProperties;
+            acquired(connection, lockedNanos);
+        }
+
+        /**
+         * Returns the reserved node ID.
+         *
+         * @return the node ID
+         */
+        public int nodeId() {
+            return nodeId;
+        }
+
+        /**
+         * Tells whether a check confirmed the reservation within the last {@code LEASE_SECONDS}.
+         *
+         * @return {@code false} once the lock is known lost or the last confirmation is too old
+         */
+        public boolean isHeld() {
+            return held && System.nanoTime() - confirmedNanos <= LEASE_NANOS;
+        }
+
+        /**
+         * Returns once IDs may be issued, sleeping out the hold-back after the node ID was taken.
+         * A confirmation too old to rely on, as after a slow startup before the first scheduled
+         * check, is renewed with a check on the calling thread.
+         *
+         * @throws IllegalStateException if the reservation is not confirmed, or the wait is interrupted
+         */
+        @Override
+        public void confirm() {
+            if (!isHeld()) {
+                check();
+            }
+            while (true) {
+                if (!isHeld()) {
+                    throw new IllegalStateException("Reference node " + nodeId
+                            + " is not confirmed as reserved for this instance; no IDs are issued until it is");
+                }
+                long wait = issuableNanos - System.nanoTime();
+                if (wait <= 0) {
+                    return;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting to issue IDs as reference node " + nodeId, e);
+                }
+            }
+        }
+
+        /**
+         * Confirms that the connection is alive and still holds the lock. If not, the lease
+         * is marked lost and the same node ID is requested on a new connection; this is
+         * retried on every check until it succeeds.
+         */
+        @Scheduled(fixedDelay = CHECK_SECONDS, initialDelay = CHECK_SECONDS, timeUnit = TimeUnit.SECONDS)
+        public void check() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                long started = System.nanoTime();
+                if (connection != null && holdsLock(connection)) {
+                    confirmedNanos = started;
+                    return;
+                }
+                if (held) {
+                    held = false;
+                    log.error("Lost the reservation of reference node {}; no reference IDs are issued until it is re-acquired", nodeId);
+                }
+                closeQuietly(connection);
+                connection = null;
+                try {
+                    Connection candidate = connect(dataSourceProperties);
+                    started = System.nanoTime();
+                    if (tryLock(candidate, nodeId)) {
+                        acquired(candidate, started);
+                        log.info("Re-acquired reference node {}; issuing IDs again in {} ms", nodeId,
+                                TimeUnit.NANOSECONDS.toMillis(HOLD_BACK_NANOS));
+                    } else {
+                        closeQuietly(candidate);
+                        log.error("Reference node {} is held by another connection; retrying in {} seconds", nodeId, CHECK_SECONDS);
+                    }
+                } catch (SQLException e) {
+                    log.error("Could not re-acquire reference node {}; retrying in {} seconds", nodeId, CHECK_SECONDS, e);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Releases the node ID by closing the connection that holds it.
+         *
+         * @throws SQLException if the connection cannot be closed
+         */
+        @Override
+        public void close() throws SQLException {
+            lock.lock();
+            try {
+                closed = true;
+                held = false;
+                if (connection != null) {
+                    connection.close();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void acquired(Connection connection, long lockedNanos) {
+            this.connection = connection;
+            confirmedNanos = lockedNanos;
+            issuableNanos = System.nanoTime() + HOLD_BACK_NANOS;
+            held = true;
+        }
+
+        private boolean holdsLock(Connection connection) {
+            try (PreparedStatement query = connection.prepareStatement("""
+                    SELECT EXISTS (SELECT 1 FROM pg_locks
+                                    WHERE locktype = 'advisory' AND pid = pg_backend_pid() AND granted
+                                      AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 2)
+                    """)) {
+                if (!connection.isValid(CHECK_SECONDS)) {
+                    return false;
+                }
+                query.setQueryTimeout(CHECK_SECONDS);
+                query.setLong(1, NODE_LOCK_KEY);
+                query.setLong(2, nodeId);
+                try (ResultSet result = query.executeQuery()) {
+                    return result.next() && result.getBoolean(1);
+                }
+            } catch (SQLException e) {
+                log.warn("Lease check of reference node {} failed", nodeId, e);
+                return false;
+            }
+        }
+
+        /**
+         * Opens the connection that holds a lease. It does not come from the pool: the lock
+         * must outlive any one borrowed connection.
+         *
+         * @param dataSourceProperties connection settings of the application database
+         * @return the connection
+         * @throws SQLException if the database cannot be reached
+         */
+        static Connection connect(DataSourceProperties dataSourceProperties) throws SQLException {
+            return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        }
+
+        /**
+         * Tries to take a node ID's lock on a connection, without waiting.
+         *
+         * @param connection connection to hold the lock
+         * @param nodeId     node ID to reserve
+         * @return {@code true} if the lock was taken
+         * @throws SQLException if the statement fails
+         */
+        static boolean tryLock(Connection connection, int nodeId) throws SQLException {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+                lock.setInt(1, NODE_LOCK_KEY);
+                lock.setInt(2, nodeId);
+                try (ResultSet result = lock.executeQuery()) {
+                    return result.next() && result.getBoolean(1);
+                }
+            }
+        }
+
+        private static void closeQuietly(Connection connection) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Closing a lost lease connection failed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.skillstorm.project1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods.
+ * <p>
+ * Scheduled and background work runs on Spring Boot's auto-configured task scheduler
+ * and application task executor. Both switch to virtual threads together with Tomcat
+ * when {@code spring.threads.virtual.enabled=true} on Java 21 or later, so there are
+ * no hand-built thread pools to keep in step with the request threads.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
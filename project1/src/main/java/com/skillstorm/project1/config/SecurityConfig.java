@@ -1,5 +1,6 @@
 package com.skillstorm.project1.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,6 +8,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
+@ConditionalOnWebApplication
 public class SecurityConfig {
 
     @Bean
@@ -24,14 +26,16 @@ public class SecurityConfig {
                     "/users/login", "/users/register",
                     "/Register.html", "/Register",
                     "/css/**", "/js/**", "/images/**",
-                    "/Dashboard/**", 
+                    "/Dashboard/**",
+                    "/dashboard/**",
                     "/inventory/**",
                     "/warehouses/**",
                     "/restocks/**",
                     "/products/**",
                     "/suppliers/**",
                     "/checkouts/**",
-                    "/users/**"
+                    "/users/**",
+                    "/actuator/**"
                 ).permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,93 @@
+package com.skillstorm.project1.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.project1.monitoring.EntityLoadCounter;
+import com.skillstorm.project1.monitoring.SqlAccountingDataSource;
+import com.skillstorm.project1.monitoring.SqlAccountingFilter;
+import com.skillstorm.project1.monitoring.TimedJacksonHttpMessageConverter;
+
+/**
+ * Per-request SQL accounting: statements, rows, entity loads, database and body-writing
+ * time for every controller request, reported in a {@code Server-Timing} header and a log
+ * line. Turned off with {@code stocksmart.sql-accounting.enabled=false}.
+ * <p>
+ * The data source is wrapped so JDBC issued by Hibernate and by {@code JdbcTemplate} is
+ * counted alike. The wrapping adds a reflective call to every JDBC method, which is
+ * noticeable only on responses of tens of thousands of rows.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stocksmart.sql-accounting", name = "enabled", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    /**
+     * Wraps the application's data source once it has been created.
+     *
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlAccountingDataSource)) {
+                    return new SqlAccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the entity load counter with Hibernate.
+     *
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCounterCustomizer() {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new EntityLoadCounter()));
+    }
+
+    /**
+     * Replaces Spring Boot's JSON converter with one that times writing the response body.
+     *
+     * @param objectMapper the auto-configured object mapper
+     * @return the converter
+     */
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Registers the filter that collects and reports the counters. It runs ahead of the
+     * security filters so their queries are included.
+     *
+     * @param statementThreshold statement count above which a request is flagged
+     * @return the registration
+     */
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            @Value("${stocksmart.sql-accounting.statement-threshold:20}") int statementThreshold) {
+        FilterRegistrationBean<SqlAccountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlAccountingFilter(statementThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
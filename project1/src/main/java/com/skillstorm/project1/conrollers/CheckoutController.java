@@ -1,8 +1,11 @@
 package com.skillstorm.project1.conrollers;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -10,9 +13,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.skillstorm.project1.models.Checkout;
+import com.skillstorm.project1.dtos.CheckoutFilter;
+import com.skillstorm.project1.dtos.CheckoutPage;
+import com.skillstorm.project1.dtos.CheckoutReceipt;
+import com.skillstorm.project1.dtos.CheckoutRow;
 import com.skillstorm.project1.services.CheckoutService;
 
 import jakarta.servlet.http.HttpSession;
@@ -41,11 +48,11 @@ public class CheckoutController {
     /**
      * Retrieves all checkout records stored in the system.
      *
-     * @return ResponseEntity containing a list of all Checkout objects
+     * @return ResponseEntity containing a list of all checkouts as flat rows
      *         or an internal server error if something goes wrong
      */
     @GetMapping()
-    public ResponseEntity<List<Checkout>> findAllCheckouts() {
+    public ResponseEntity<List<CheckoutRow>> findAllCheckouts() {
         try {
             return ResponseEntity.ok(checkoutService.findAllCheckouts());
         } catch (Exception e) {
@@ -56,16 +63,53 @@ public class CheckoutController {
     }
 
     /**
-     * Creates a new checkout record based on the provided request body.
+     * Retrieves one page of checkout history, newest first, with optional filters.
+     * Pass the {@code nextCursor} of a response as {@code cursor} to get the following page.
+     *
+     * @param cursor      cursor from the previous page, omitted for the first page
+     * @param size        rows per page (default 50, at most 200)
+     * @param warehouseId optional warehouse filter
+     * @param productId   optional product filter
+     * @param userEmail   optional user email filter
+     * @param from        optional first day (inclusive, yyyy-MM-dd)
+     * @param to          optional last day (inclusive, yyyy-MM-dd)
+     * @return ResponseEntity with the page, or 400 if the cursor or size is invalid
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CheckoutPage> findCheckoutPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            CheckoutFilter filter = new CheckoutFilter(warehouseId, productId, userEmail, from, to);
+            return ResponseEntity.ok(checkoutService.findCheckoutPage(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .header("Error", e.getMessage())
+                .build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .header("Error: ", "Sorry! We have an internal Error! Please check back later.")
+                .build();
+        }
+    }
+
+    /**
+     * Creates a new checkout record based on the provided request body and
+     * decrements the warehouse stock in the same transaction.
      * Expects warehouseId, productId, amount, and the user email performing the checkout.
      *
      * @param payload request JSON data containing warehouseId, productId, amount, and email
      * @param session the HTTP session of the current logged-in user
-     * @return ResponseEntity with the created Checkout object and a 201 status,
-     *         or an error response if invalid data is provided
+     * @return ResponseEntity with the created checkout receipt and a 201 status,
+     *         409 if there is not enough stock, or an error response if invalid data is provided
      */
     @PostMapping("/create_checkout")
-    public ResponseEntity<Checkout> createCheckout(@RequestBody Map<String, Object> payload, HttpSession session) {
+    public ResponseEntity<CheckoutReceipt> createCheckout(@RequestBody Map<String, Object> payload, HttpSession session) {
         try {
 
             Long warehouseId = Long.valueOf(payload.get("warehouseId").toString());
@@ -73,11 +117,19 @@ public class CheckoutController {
             int amount       = Integer.parseInt(payload.get("amount").toString());
             String email     = payload.get("email").toString();
 
-            Checkout created = checkoutService.createCheckout(warehouseId, productId, amount, email);
+            CheckoutReceipt created = checkoutService.createCheckout(warehouseId, productId, amount, email);
             return new ResponseEntity<>(created, HttpStatus.CREATED);
 
         } catch (NumberFormatException e) {
             return ResponseEntity.internalServerError().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Error", "Not enough stock available")
+                .build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .header("Error", e.getMessage())
+                .build();
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.skillstorm.project1.conrollers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Builds responses for conditional GETs on the collection endpoints.
+ * <p>
+ * Responses carry a strong ETag and {@code Cache-Control: no-cache, private}, so the
+ * browser keeps the body but revalidates it on every request. When the client's
+ * {@code If-None-Match} still matches, the controller answers 304 before calling the
+ * service, without touching the database.
+ * </p>
+ */
+final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against the current entity tag.
+     *
+     * @param ifNoneMatch header value, may be {@code null}
+     * @param etag        current quoted entity tag
+     * @return {@code true} if the client's copy is current
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a 304 Not Modified response.
+     *
+     * @param etag the current entity tag
+     * @param <T>  body type of the endpoint
+     * @return the empty response
+     */
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Builds a 200 OK response carrying the entity tag the body was read under.
+     *
+     * @param etag the entity tag of the body
+     * @param body the body
+     * @param <T>  body type
+     * @return the response
+     */
+    static <T> ResponseEntity<T> tagged(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body);
+    }
+}
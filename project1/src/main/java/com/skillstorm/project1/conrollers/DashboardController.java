@@ -0,0 +1,57 @@
+package com.skillstorm.project1.conrollers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skillstorm.project1.dtos.CacheStatistics;
+import com.skillstorm.project1.dtos.DashboardKpis;
+import com.skillstorm.project1.services.DashboardService;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "http://localhost:8080", allowCredentials = "true")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Constructor-based injection for DashboardService.
+     *
+     * @param dashboardService service used to compute the dashboard figures
+     */
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Retrieves the dashboard KPIs: low-stock count, total units, total valuation
+     * and valuation per product category.
+     *
+     * @return the KPIs wrapped in a ResponseEntity
+     */
+    @GetMapping("/kpis")
+    public ResponseEntity<DashboardKpis> getKpis() {
+        try {
+            return ResponseEntity.ok(dashboardService.getKpis());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .header("Error", "Failed to load dashboard figures.")
+                .build();
+        }
+    }
+
+    /**
+     * Retrieves hit, miss and eviction statistics for the application caches.
+     *
+     * @return the statistics wrapped in a ResponseEntity
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(dashboardService.getCacheStatistics());
+    }
+}
@@ -3,7 +3,9 @@ package com.skillstorm.project1.conrollers;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,13 +14,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.skillstorm.project1.dtos.BatchTransferResult;
+import com.skillstorm.project1.dtos.ImportResult;
+import com.skillstorm.project1.dtos.InventoryChanges;
+import com.skillstorm.project1.dtos.InventoryView;
+import com.skillstorm.project1.dtos.NewInventory;
+import com.skillstorm.project1.dtos.TransferLine;
+import com.skillstorm.project1.dtos.TransferReceipt;
+import com.skillstorm.project1.dtos.WarehouseStock;
 import com.skillstorm.project1.models.Inventory;
-import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.InventoryEventBroadcaster;
+import com.skillstorm.project1.services.InventoryImportService;
 import com.skillstorm.project1.services.InventoryService;
-import com.skillstorm.project1.services.WarehouseService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/inventory")
@@ -32,18 +47,24 @@ public class InventoryController {
     /** Service layer for inventory business logic. */
     private final InventoryService inventoryService;
 
-    /** Service layer for warehouse operations. */
-    private final WarehouseService warehouseService;
+    /** Service layer for bulk inventory imports. */
+    private final InventoryImportService importService;
+
+    /** Pushes inventory changes to subscribed dashboards. */
+    private final InventoryEventBroadcaster eventBroadcaster;
 
     /**
      * Constructor-based dependency injection.
      *
      * @param inventoryService service handling inventory operations
-     * @param warehouseService service handling warehouse lookups and updates
+     * @param importService service handling bulk imports
+     * @param eventBroadcaster broadcaster for live inventory events
      */
-    public InventoryController(InventoryService inventoryService, WarehouseService warehouseService) {
+    public InventoryController(InventoryService inventoryService, InventoryImportService importService,
+                               InventoryEventBroadcaster eventBroadcaster) {
         this.inventoryService = inventoryService;
-        this.warehouseService = warehouseService;
+        this.importService = importService;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
     // ==============================================
@@ -53,13 +74,18 @@ public class InventoryController {
     /**
      * Retrieves all inventory records in the system.
      *
-     * @return list of all {@link Inventory} items
+     * @param ifNoneMatch ETag of the client's cached copy, if any
+     * @return list of all {@link Inventory} items, or 304 if the client's copy is current
      */
     @GetMapping
-    public ResponseEntity<List<Inventory>> findAllInventory() {
+    public ResponseEntity<List<InventoryView>> findAllInventory(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Inventory> inventory = inventoryService.getAllInventory();
-            return new ResponseEntity<>(inventory, HttpStatus.OK);
+            String etag = inventoryService.getInventoryEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            List<InventoryView> inventory = inventoryService.getAllInventory();
+            return ConditionalResponses.tagged(etag, inventory);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .header("Error", "An internal error occurred while retrieving inventory.")
@@ -78,9 +104,9 @@ public class InventoryController {
      * @return inventory record if found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Inventory> findInventoryById(@PathVariable Long id) {
+    public ResponseEntity<InventoryView> findInventoryById(@PathVariable Long id) {
         try {
-            Inventory inventory = inventoryService.getInventoryById(id)
+            InventoryView inventory = inventoryService.getInventoryById(id)
                     .orElseThrow(() -> new IllegalArgumentException("Inventory record not found with ID " + id));
             return new ResponseEntity<>(inventory, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
@@ -102,13 +128,19 @@ public class InventoryController {
      * Retrieves all inventory records associated with a specific warehouse.
      *
      * @param warehouseId warehouse ID
-     * @return list of inventory items stored in that warehouse
+     * @param ifNoneMatch ETag of the client's cached copy, if any
+     * @return list of inventory items stored in that warehouse, or 304 if the client's copy is current
      */
     @GetMapping("/warehouse/{warehouseId}")
-    public ResponseEntity<List<Inventory>> findByWarehouse(@PathVariable Long warehouseId) {
+    public ResponseEntity<List<InventoryView>> findByWarehouse(@PathVariable Long warehouseId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Inventory> inventory = inventoryService.getInventoryByWarehouse(warehouseId);
-            return new ResponseEntity<>(inventory, HttpStatus.OK);
+            String etag = inventoryService.getInventoryEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            List<InventoryView> inventory = inventoryService.getInventoryByWarehouse(warehouseId);
+            return ConditionalResponses.tagged(etag, inventory);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .header("Error", "Error fetching inventory for warehouse ID " + warehouseId)
@@ -116,6 +148,34 @@ public class InventoryController {
         }
     }
 
+    // ==============================================
+    // DELTA SYNC
+    // ==============================================
+
+    /**
+     * Returns the inventory rows inserted, updated or deleted since a client's last sync,
+     * so clients holding a local copy can catch up without reloading everything.
+     *
+     * @param since       {@code version} returned by the previous sync, or {@code 0} for a full load
+     * @param warehouseId limits the changes to one warehouse, if given
+     * @return the changes and the cursor for the next sync, or 400 for a negative cursor
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<InventoryChanges> findChanges(@RequestParam long since,
+                                                        @RequestParam(required = false) Long warehouseId) {
+        try {
+            return ResponseEntity.ok(inventoryService.getChangesSince(since, warehouseId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("Error", e.getMessage())
+                    .build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .header("Error", "Error fetching inventory changes")
+                    .build();
+        }
+    }
+
     // ==============================================
     // GET INVENTORY BY PRODUCT
     // ==============================================
@@ -123,14 +183,20 @@ public class InventoryController {
     /**
      * Retrieves all inventory rows that contain a specific product.
      *
-     * @param productId product ID
-     * @return list of related inventory items
+     * @param productId   product ID
+     * @param ifNoneMatch ETag of the client's cached copy, if any
+     * @return list of related inventory items, or 304 if the client's copy is current
      */
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<Inventory>> findByProduct(@PathVariable Long productId) {
+    public ResponseEntity<List<InventoryView>> findByProduct(@PathVariable Long productId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Inventory> inventory = inventoryService.getInventoryByProduct(productId);
-            return new ResponseEntity<>(inventory, HttpStatus.OK);
+            String etag = inventoryService.getInventoryEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            List<InventoryView> inventory = inventoryService.getInventoryByProduct(productId);
+            return ConditionalResponses.tagged(etag, inventory);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .header("Error", "Error fetching inventory for product ID " + productId)
@@ -138,6 +204,52 @@ public class InventoryController {
         }
     }
 
+    // ==============================================
+    // GET PRODUCT-BY-WAREHOUSE STOCK MATRIX
+    // ==============================================
+
+    /**
+     * Returns the quantity of one product in every warehouse, with 0 for
+     * warehouses that do not stock it.
+     *
+     * @param productId   product ID
+     * @param ifNoneMatch ETag of the client's cached copy, if any
+     * @return one entry per warehouse
+     */
+    @GetMapping("/product/{productId}/stock")
+    public ResponseEntity<List<WarehouseStock>> findProductStock(@PathVariable Long productId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return findStockMatrix(List.of(productId), ifNoneMatch);
+    }
+
+    /**
+     * Returns the quantity of each requested product in every warehouse.
+     *
+     * @param productIds  comma-separated product IDs (at most 200)
+     * @param ifNoneMatch ETag of the client's cached copy, if any
+     * @return one entry per product and warehouse, 304 if the client's copy is current,
+     *         or 400 if the ID list is empty or too long
+     */
+    @GetMapping("/stock")
+    public ResponseEntity<List<WarehouseStock>> findStockMatrix(@RequestParam List<Long> productIds,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = inventoryService.getStockEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            return ConditionalResponses.tagged(etag, inventoryService.getStockMatrix(productIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("Error", e.getMessage())
+                    .build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .header("Error", "Error fetching stock levels")
+                    .build();
+        }
+    }
+
     // ==============================================
     // GET STOCK BELOW MINIMUM
     // ==============================================
@@ -145,13 +257,18 @@ public class InventoryController {
     /**
      * Returns all inventory items with quantity lower than their minimum stock level.
      *
-     * @return list of low-stock inventory records
+     * @param ifNoneMatch ETag of the client's cached copy, if any
+     * @return list of low-stock inventory records, or 304 if the client's copy is current
      */
     @GetMapping("/below-minimum")
-    public ResponseEntity<List<Inventory>> findBelowMinimumStock() {
+    public ResponseEntity<List<InventoryView>> findBelowMinimumStock(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Inventory> items = inventoryService.findBelowMinimumStock();
-            return new ResponseEntity<>(items, HttpStatus.OK);
+            String etag = inventoryService.getInventoryEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            List<InventoryView> items = inventoryService.findBelowMinimumStock();
+            return ConditionalResponses.tagged(etag, items);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .header("Error", "Failed to retrieve low-stock items.")
@@ -159,6 +276,37 @@ public class InventoryController {
         }
     }
 
+    /**
+     * Returns how many inventory items are below their minimum stock level.
+     *
+     * @return the low-stock item count
+     */
+    @GetMapping("/below-minimum/count")
+    public ResponseEntity<Long> countBelowMinimumStock() {
+        try {
+            return new ResponseEntity<>(inventoryService.countBelowMinimumStock(), HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .header("Error", "Failed to count low-stock items.")
+                    .build();
+        }
+    }
+
+    // ==============================================
+    // LIVE EVENTS
+    // ==============================================
+
+    /**
+     * Opens a server-sent event stream of inventory changes. Each event's data is a
+     * JSON {@link com.skillstorm.project1.dtos.InventoryEvent}.
+     *
+     * @return the event stream
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return eventBroadcaster.subscribe();
+    }
+
     // ==============================================
     // CREATE INVENTORY
     // ==============================================
@@ -166,13 +314,14 @@ public class InventoryController {
     /**
      * Creates a new inventory record.
      *
-     * @param inventory inventory object to create
-     * @return created inventory row
+     * @param request warehouseId, productId, quantity, minimumStock and warehouseLocation
+     * @return created inventory row, or 400 if the warehouse or product is unknown or
+     *         the warehouse already stocks the product
      */
     @PostMapping
-    public ResponseEntity<Inventory> createInventory(@RequestBody Inventory inventory) {
+    public ResponseEntity<InventoryView> createInventory(@RequestBody NewInventory request) {
         try {
-            Inventory created = inventoryService.createInventory(inventory);
+            InventoryView created = inventoryService.createInventory(request);
             return new ResponseEntity<>(created, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
@@ -185,15 +334,45 @@ public class InventoryController {
         }
     }
 
+    // ==============================================
+    // BULK IMPORT INVENTORY
+    // ==============================================
+
+    /**
+     * Bulk-imports inventory from a CSV ({@code text/csv}) or NDJSON
+     * ({@code application/x-ndjson}) request body. The body is streamed into the
+     * database, so large files do not need to fit in memory.
+     *
+     * @param request the raw HTTP request whose body holds the rows
+     * @return row counts and a sample of rejected rows
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResult> importInventory(HttpServletRequest request) {
+        InventoryImportService.Format format =
+                MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf("application/x-ndjson"))
+                        ? InventoryImportService.Format.NDJSON
+                        : InventoryImportService.Format.CSV;
+        try {
+            ImportResult result = importService.importInventory(request.getInputStream(), format);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .header("Error", "Error importing inventory.")
+                    .build();
+        }
+    }
+
     // ==============================================
     // REDUCE INVENTORY
     // ==============================================
 
     /**
      * Reduces inventory quantity for a given warehouse + product combination.
+     * Checkouts already decrement stock themselves; this endpoint is for manual adjustments.
      *
      * @param payload contains warehouseId, productId, and amount
-     * @return empty OK response on success
+     * @return empty OK response on success, 404 if no record exists,
+     *         or 409 if the record does not hold enough stock
      */
     @PutMapping("/reduce")
     public ResponseEntity<Void> reduceInventory(@RequestBody Map<String, Object> payload) {
@@ -202,9 +381,18 @@ public class InventoryController {
         Long productId   = Long.valueOf(payload.get("productId").toString());
         int amount       = Integer.parseInt(payload.get("amount").toString());
 
-        inventoryService.reduceInventory(warehouseId, productId, amount);
-
-        return ResponseEntity.ok().build();
+        try {
+            inventoryService.reduceInventory(warehouseId, productId, amount);
+            return ResponseEntity.ok().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Error", "Not enough stock available.")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .header("Error", e.getMessage())
+                    .build();
+        }
     }
 
     // ==============================================
@@ -243,20 +431,48 @@ public class InventoryController {
      * @param inventoryId ID of inventory record being transferred from
      * @param newWarehouseId destination warehouse ID
      * @param request contains the amount to transfer
+     * @return the transfer receipt, 400 for invalid input, or 409 if there is not enough stock
      */
     @PutMapping("/transfer/{inventoryId}/{newWarehouseId}")
-    public void transferInventory(@PathVariable Long inventoryId,@PathVariable Long newWarehouseId,@RequestBody Map<String, Object> request) {
-        int amount = (int) request.get("amount");
-        Inventory inventory = inventoryService.getInventoryById(inventoryId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Inventory record not found with ID " + inventoryId));
-
-        if (amount <= 0 || amount > inventory.getQuantity()) {
-            throw new IllegalArgumentException("Invalid transfer amount: " + amount);
+    public ResponseEntity<TransferReceipt> transferInventory(@PathVariable Long inventoryId, @PathVariable Long newWarehouseId,
+                                                             @RequestBody Map<String, Object> request) {
+        try {
+            int amount = Integer.parseInt(request.get("amount").toString());
+            TransferReceipt receipt = inventoryService.transferInventory(inventoryId, newWarehouseId, amount);
+            return new ResponseEntity<>(receipt, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Error", "Insufficient stock to transfer the requested amount.")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("Error", e.getMessage())
+                    .build();
         }
+    }
 
-        Warehouse newWarehouse = warehouseService.getWarehouseById(newWarehouseId);
-        inventoryService.transferInventory(inventory, newWarehouse, amount);
+    /**
+     * Applies many transfers in one request, e.g. to rebalance a warehouse.
+     * Each line names a product, a source and target warehouse and an amount;
+     * invalid or unsatisfiable lines are rejected individually.
+     *
+     * @param lines transfer lines to apply
+     * @return per-line results, or 400 if no lines were sent
+     */
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<BatchTransferResult> transferInventoryBatch(@RequestBody List<TransferLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .header("Error", "At least one transfer line is required.")
+                    .build();
+        }
+        try {
+            return new ResponseEntity<>(inventoryService.transferInventoryBatch(lines), HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .header("Error", "Error applying batch transfer.")
+                    .build();
+        }
     }
 
     /**
@@ -3,6 +3,7 @@ package com.skillstorm.project1.conrollers;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,9 +13,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.project1.dtos.ProductView;
+import com.skillstorm.project1.dtos.Versioned;
 import com.skillstorm.project1.models.Product;
 import com.skillstorm.project1.models.Supplier;
 import com.skillstorm.project1.services.ProductService;
@@ -44,13 +48,20 @@ public class ProductController {
 
     /**
      * Retrieves all products stored in the database.
+     * Answers 304 without loading the data when the client's ETag is still current.
      *
+     * @param ifNoneMatch ETag of the client's cached copy, if any
      * @return ResponseEntity containing a list of all products or an error response
      */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<ProductView>> getAllProducts(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            return new ResponseEntity<>(productService.getAllProducts(), HttpStatus.OK);
+            String etag = productService.getProductsEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            Versioned<List<ProductView>> products = productService.getAllProducts(etag);
+            return ConditionalResponses.tagged(products.etag(), products.content());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
             .header("Error: ", "Sorry! We have an internal Error! Please check back later.")
@@ -65,9 +76,9 @@ public class ProductController {
      * @return ResponseEntity containing the product or an error response
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductView> getProductById(@PathVariable Long id) {
         try {
-            Product product = productService.getProductById(id)
+            ProductView product = productService.getProductById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found with ID " + id));
             return new ResponseEntity<>(product, HttpStatus.OK);
         }
@@ -13,7 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.skillstorm.project1.models.RestockOrder;
+import com.skillstorm.project1.dtos.RestockOrderView;
 import com.skillstorm.project1.services.RestockOrderService;
 
 @RestController
@@ -39,9 +39,9 @@ public class RestockOrderController {
      *         or an internal server error if retrieval fails
      */
     @GetMapping
-    public ResponseEntity<List<RestockOrder>> findAllRestockOrders() {
+    public ResponseEntity<List<RestockOrderView>> findAllRestockOrders() {
         try {
-            List<RestockOrder> restocks = restockService.findAllRestockOrders();
+            List<RestockOrderView> restocks = restockService.findAllRestockOrders();
             return new ResponseEntity<>(restocks, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -58,9 +58,9 @@ public class RestockOrderController {
      *         or an internal server error if retrieval fails
      */
     @GetMapping("/warehouse/{warehouseId}")
-    public ResponseEntity<List<RestockOrder>> findByWarehouse(@PathVariable Long warehouseId) {
+    public ResponseEntity<List<RestockOrderView>> findByWarehouse(@PathVariable Long warehouseId) {
         try {
-            List<RestockOrder> restocks = restockService.findByWarehouseId(warehouseId);
+            List<RestockOrderView> restocks = restockService.findByWarehouseId(warehouseId);
             return new ResponseEntity<>(restocks, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -73,18 +73,18 @@ public class RestockOrderController {
      * Creates a new restock order.
      *
      * @param payload request body containing warehouseId, productId, amount, and orderedBy fields
-     * @return ResponseEntity containing the created RestockOrder,
+     * @return ResponseEntity containing the created restock order,
      *         or an internal server error if creation fails
      */
     @PostMapping("/create_restock")
-    public ResponseEntity<RestockOrder> createRestockOrder(@RequestBody Map<String, Object> payload) {
+    public ResponseEntity<RestockOrderView> createRestockOrder(@RequestBody Map<String, Object> payload) {
         try {
             Long warehouseId = Long.valueOf(payload.get("warehouseId").toString());
             Long productId = Long.valueOf(payload.get("productId").toString());
             int amount = Integer.parseInt(payload.get("amount").toString());
             String orderedBy = payload.get("orderedBy").toString();
 
-            RestockOrder created = restockService.createRestockOrder(warehouseId, productId, amount, orderedBy);
+            RestockOrderView created = restockService.createRestockOrder(warehouseId, productId, amount, orderedBy);
             return new ResponseEntity<>(created, HttpStatus.CREATED);
         } catch (NumberFormatException e) {
             return ResponseEntity.internalServerError().build();
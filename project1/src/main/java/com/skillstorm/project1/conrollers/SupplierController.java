@@ -3,6 +3,7 @@ package com.skillstorm.project1.conrollers;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,9 +13,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.project1.dtos.SupplierView;
+import com.skillstorm.project1.dtos.Versioned;
 import com.skillstorm.project1.models.Supplier;
 import com.skillstorm.project1.services.SupplierService;
 
@@ -44,9 +48,9 @@ public class SupplierController {
      * @return the Supplier object, or null if not found or error occurs
      */
     @GetMapping("/{id}")
-    public Supplier getSupplierById(@PathVariable Long id) {
+    public SupplierView getSupplierById(@PathVariable Long id) {
         try {
-            return supplierService.getSupplierById(id);
+            return supplierService.getSupplierViewById(id);
         } catch (Exception e) {
             return null;
         }
@@ -83,12 +87,20 @@ public class SupplierController {
     /**
      * Retrieves all suppliers in the system.
      *
+     * Answers 304 without loading the data when the client's ETag is still current.
+     *
+     * @param ifNoneMatch ETag of the client's cached copy, if any
      * @return ResponseEntity containing a list of all suppliers or an error response
      */
     @GetMapping()
-    public ResponseEntity<List<Supplier>> getAllSuppliers() {
+    public ResponseEntity<List<SupplierView>> getAllSuppliers(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            return new ResponseEntity<>(supplierService.getAllSuppliers(),HttpStatus.OK);
+            String etag = supplierService.getSuppliersEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            Versioned<List<SupplierView>> suppliers = supplierService.getAllSuppliers(etag);
+            return ConditionalResponses.tagged(suppliers.etag(), suppliers.content());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
             .header("Error: ", "Sorry! We have an internal Error! Please check back later.")
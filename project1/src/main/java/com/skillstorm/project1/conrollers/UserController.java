@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.project1.dtos.UserView;
 import com.skillstorm.project1.models.User;
 import com.skillstorm.project1.services.UserService;
 
@@ -47,9 +48,9 @@ public class UserController {
      * @return 200 OK with a list of users, or 500 on error
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserView>> getAllUsers() {
         try {
-            List<User> users = userService.getAllUsers();
+            List<UserView> users = userService.getAllUsers();
             return new ResponseEntity<>(users, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -67,10 +68,10 @@ public class UserController {
     @GetMapping("/current-user")
     public ResponseEntity<?> getCurrentUser(HttpSession session) {
         Object user = session.getAttribute("user");
-        if (user == null) {
+        if (!(user instanceof User current)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserView.of(current));
     }
 
     /**
@@ -3,6 +3,7 @@ package com.skillstorm.project1.conrollers;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,9 +13,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.project1.dtos.Versioned;
+import com.skillstorm.project1.dtos.WarehouseTotals;
+import com.skillstorm.project1.dtos.WarehouseView;
 import com.skillstorm.project1.models.Warehouse;
 import com.skillstorm.project1.services.WarehouseService;
 
@@ -37,13 +42,20 @@ public class WarehouseController {
     /**
      * Retrieves all warehouses including their total inventory values.
      *
+     * Answers 304 without loading the data when the client's ETag is still current.
+     *
+     * @param ifNoneMatch ETag of the client's cached copy, if any
      * @return list of warehouses wrapped in a ResponseEntity
      */
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> findAllWarehouses() {
+    public ResponseEntity<List<WarehouseTotals>> findAllWarehouses(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Map<String, Object>> warehouses = warehouseService.findAllWarehousesWithTotals();
-            return new ResponseEntity<>(warehouses, HttpStatus.OK);
+            String etag = warehouseService.getWarehouseTotalsEtag();
+            if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            Versioned<List<WarehouseTotals>> warehouses = warehouseService.findAllWarehousesWithTotals(etag);
+            return ConditionalResponses.tagged(warehouses.etag(), warehouses.content());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -114,9 +126,9 @@ public class WarehouseController {
      * @return warehouse wrapped in ResponseEntity
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Warehouse> getWarehouseById(@PathVariable Long id) {
+    public ResponseEntity<WarehouseView> getWarehouseById(@PathVariable Long id) {
         try {
-            Warehouse warehouse = warehouseService.getWarehouseById(id);
+            WarehouseView warehouse = warehouseService.getWarehouseById(id);
             return new ResponseEntity<>(warehouse, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -0,0 +1,16 @@
+package com.skillstorm.project1.dtos;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk transfer.
+ *
+ * @param applied  number of lines applied
+ * @param rejected number of lines rejected
+ * @param lines    per-line results, in request order
+ */
+public record BatchTransferResult(
+        int applied,
+        int rejected,
+        List<TransferLineResult> lines) {
+}
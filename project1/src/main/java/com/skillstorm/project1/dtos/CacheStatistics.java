@@ -0,0 +1,14 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Hit, miss and eviction counters for one application cache since startup.
+ *
+ * @param name      cache name
+ * @param size      approximate number of entries currently held
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups that had to load from the database
+ * @param hitRate   hits divided by all lookups, {@code 1.0} when there were none
+ * @param evictions entries removed because of the size bound or expiry
+ */
+public record CacheStatistics(String name, long size, long hits, long misses, double hitRate, long evictions) {
+}
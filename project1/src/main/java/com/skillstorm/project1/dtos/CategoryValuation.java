@@ -0,0 +1,24 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Units on hand and their valuation for one product category, across all warehouses.
+ *
+ * @param category category name, "Uncategorized" for products without one
+ * @param units    sum of inventory quantities
+ * @param value    sum of quantity multiplied by product price
+ */
+public record CategoryValuation(String category, long units, double value) {
+
+    /**
+     * Constructor used by the JPQL constructor expression.
+     *
+     * @param category category name, may be {@code null}
+     * @param units    summed quantity
+     * @param value    summed valuation
+     */
+    public CategoryValuation(String category, Long units, Double value) {
+        this(category == null || category.isBlank() ? "Uncategorized" : category,
+             units == null ? 0L : units,
+             value == null ? 0.0 : value);
+    }
+}
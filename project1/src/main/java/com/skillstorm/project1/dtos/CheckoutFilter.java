@@ -0,0 +1,20 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the checkout history. Any {@code null} field is ignored.
+ *
+ * @param warehouseId only checkouts from this warehouse
+ * @param productId   only checkouts of this product
+ * @param userEmail   only checkouts by this user (case-insensitive)
+ * @param from        only checkouts on or after this day
+ * @param to          only checkouts on or before this day
+ */
+public record CheckoutFilter(
+        Long warehouseId,
+        Long productId,
+        String userEmail,
+        LocalDate from,
+        LocalDate to) {
+}
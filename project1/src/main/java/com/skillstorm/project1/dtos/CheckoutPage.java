@@ -0,0 +1,15 @@
+package com.skillstorm.project1.dtos;
+
+import java.util.List;
+
+
+/**
+ * One page of the checkout history, newest first.
+ *
+ * @param items      checkouts on this page
+ * @param nextCursor opaque cursor for the next page, or {@code null} if this is the last page
+ */
+public record CheckoutPage(
+        List<CheckoutRow> items,
+        String nextCursor) {
+}
@@ -0,0 +1,41 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDateTime;
+
+import com.skillstorm.project1.models.Checkout;
+
+/**
+ * Response returned after a successful checkout. Carries the recorded checkout
+ * and the stock left in the warehouse after the decrement.
+ *
+ * @param checkoutId        ID of the new checkout record
+ * @param warehouseId       warehouse the stock was taken from
+ * @param productId         product that was checked out
+ * @param amount            quantity checked out
+ * @param checkoutDate      time the checkout was recorded
+ * @param userEmail         email of the user performing the checkout
+ * @param remainingQuantity quantity left in the warehouse after the checkout
+ */
+public record CheckoutReceipt(
+        Long checkoutId,
+        Long warehouseId,
+        Long productId,
+        int amount,
+        LocalDateTime checkoutDate,
+        String userEmail,
+        int remainingQuantity) {
+
+    /**
+     * Builds a receipt from a saved checkout and the post-checkout stock level.
+     *
+     * @param checkout          the persisted checkout
+     * @param warehouseId       the warehouse ID
+     * @param productId         the product ID
+     * @param remainingQuantity quantity left after the decrement
+     * @return the receipt
+     */
+    public static CheckoutReceipt of(Checkout checkout, Long warehouseId, Long productId, int remainingQuantity) {
+        return new CheckoutReceipt(checkout.getCheckoutId(), warehouseId, productId, checkout.getAmount(),
+                checkout.getCheckoutDate(), checkout.getUserEmail(), remainingQuantity);
+    }
+}
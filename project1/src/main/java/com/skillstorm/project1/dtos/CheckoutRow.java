@@ -0,0 +1,26 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a checkout for history listings, projected directly by the repository.
+ *
+ * @param checkoutId    checkout primary key
+ * @param amount        quantity checked out
+ * @param checkoutDate  time of the checkout
+ * @param userEmail     email of the user who checked out
+ * @param warehouseId   warehouse the stock came from
+ * @param warehouseName name of that warehouse
+ * @param productId     product checked out
+ * @param productName   name of that product
+ */
+public record CheckoutRow(
+        Long checkoutId,
+        int amount,
+        LocalDateTime checkoutDate,
+        String userEmail,
+        Long warehouseId,
+        String warehouseName,
+        Long productId,
+        String productName) {
+}
@@ -0,0 +1,21 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Headline figures shown on the dashboard, computed with SQL aggregates.
+ *
+ * @param lowStockCount number of inventory rows below their minimum stock
+ * @param totalUnits    sum of all inventory quantities
+ * @param totalValue    sum of quantity multiplied by product price
+ * @param categories    units and valuation per product category, highest value first
+ * @param computedAt    when the figures were computed
+ */
+public record DashboardKpis(
+        long lowStockCount,
+        long totalUnits,
+        double totalValue,
+        List<CategoryValuation> categories,
+        LocalDateTime computedAt) {
+}
@@ -0,0 +1,22 @@
+package com.skillstorm.project1.dtos;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk inventory import.
+ *
+ * @param rowsRead      data rows read from the upload (header excluded)
+ * @param inserted      inventory rows created
+ * @param updated       existing inventory rows overwritten
+ * @param duplicates    rows superseded by a later row for the same warehouse/product in the same file
+ * @param rejected      rows that could not be imported
+ * @param rejectSamples the first rejected rows with the reason, for troubleshooting
+ */
+public record ImportResult(
+        long rowsRead,
+        long inserted,
+        long updated,
+        long duplicates,
+        long rejected,
+        List<String> rejectSamples) {
+}
@@ -0,0 +1,18 @@
+package com.skillstorm.project1.dtos;
+
+import java.util.List;
+
+/**
+ * Inventory rows changed since a client's last sync.
+ * <p>
+ * Pass {@code version} back as {@code since} on the next request. A row may be
+ * returned again by the following sync if its transaction was still finishing, so
+ * clients should apply changes as upserts by {@code inventoryId}.
+ * </p>
+ *
+ * @param version cursor for the next request
+ * @param changed rows inserted or updated since the cursor
+ * @param deleted IDs of rows deleted since the cursor
+ */
+public record InventoryChanges(long version, List<InventoryView> changed, List<Long> deleted) {
+}
@@ -0,0 +1,34 @@
+package com.skillstorm.project1.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A change to warehouse stock, pushed to live dashboards over server-sent events.
+ * Fields that do not apply to a type are left out of the JSON.
+ *
+ * @param type        what happened
+ * @param warehouseId affected warehouse, or {@code null} for {@link Type#RELOAD}
+ * @param productId   affected product, or {@code null} for {@link Type#RELOAD}
+ * @param delta       change in quantity, if the quantity changed
+ * @param quantity    quantity after the change
+ * @param referenceId ID of the checkout or restock order that caused the change
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InventoryEvent(Type type, Long warehouseId, Long productId, Integer delta, Integer quantity, Long referenceId) {
+
+    /** Kinds of inventory change. */
+    public enum Type {
+        /** Quantity changed by an adjustment, transfer, or an inventory row being added or removed. */
+        STOCK,
+        /** Quantity reduced by a checkout; {@code referenceId} is the checkout ID. */
+        CHECKOUT,
+        /** Quantity increased by a restock order; {@code referenceId} is the restock ID. */
+        RESTOCK,
+        /** The row dropped below its minimum stock. */
+        LOW_STOCK,
+        /** The row is no longer below its minimum stock. */
+        LOW_STOCK_CLEARED,
+        /** Many rows changed at once (e.g. an import); clients should reload. */
+        RELOAD
+    }
+}
@@ -0,0 +1,47 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for an inventory row with its product, projected in a single query.
+ *
+ * @param inventoryId       inventory primary key
+ * @param product           product stored in the row
+ * @param quantity          units on hand
+ * @param minimumStock      restock threshold
+ * @param warehouseLocation storage location inside the warehouse
+ * @param lastUpdated       time of the last change
+ */
+public record InventoryView(
+        Long inventoryId,
+        ProductView product,
+        int quantity,
+        int minimumStock,
+        int warehouseLocation,
+        LocalDateTime lastUpdated) {
+
+    /**
+     * Constructor used by JPQL constructor expressions over inventory, product and supplier.
+     *
+     * @param inventoryId       inventory primary key
+     * @param quantity          units on hand
+     * @param minimumStock      restock threshold
+     * @param warehouseLocation storage location inside the warehouse
+     * @param lastUpdated       time of the last change
+     * @param productId         product primary key
+     * @param productName       product name
+     * @param price             unit price
+     * @param category          product category
+     * @param supplierId        supplier primary key, or {@code null}
+     * @param supplierName      supplier name
+     * @param supplierEmail     supplier contact email
+     */
+    public InventoryView(Long inventoryId, int quantity, int minimumStock,
+                         int warehouseLocation, LocalDateTime lastUpdated,
+                         Long productId, String productName, double price, String category,
+                         Long supplierId, String supplierName, String supplierEmail) {
+        this(inventoryId,
+             new ProductView(productId, productName, price, category, supplierId, supplierName, supplierEmail),
+             quantity, minimumStock, warehouseLocation, lastUpdated);
+    }
+}
@@ -0,0 +1,36 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * An inventory row after its minimum stock was changed, as returned by the atomic update.
+ *
+ * @param warehouseId          the warehouse ID
+ * @param productId            the product ID
+ * @param quantity             units on hand
+ * @param minimumStock         the new minimum stock
+ * @param previousMinimumStock the minimum stock before the update
+ */
+public record MinimumStockChange(
+        Long warehouseId,
+        Long productId,
+        int quantity,
+        int minimumStock,
+        int previousMinimumStock) {
+
+    /**
+     * Returns the quantity and the new minimum stock.
+     *
+     * @return the stock level after the update
+     */
+    public StockLevel level() {
+        return new StockLevel(quantity, minimumStock);
+    }
+
+    /**
+     * Tells whether the row was below its previous minimum stock.
+     *
+     * @return {@code true} if the quantity was under the old minimum
+     */
+    public boolean wasBelow() {
+        return quantity < previousMinimumStock;
+    }
+}
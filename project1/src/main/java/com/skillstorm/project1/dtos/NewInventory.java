@@ -0,0 +1,18 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Request body for creating an inventory record.
+ *
+ * @param warehouseId       warehouse that stocks the product
+ * @param productId         product stored in the row
+ * @param quantity          units on hand
+ * @param minimumStock      restock threshold
+ * @param warehouseLocation storage location inside the warehouse
+ */
+public record NewInventory(
+        Long warehouseId,
+        Long productId,
+        int quantity,
+        int minimumStock,
+        int warehouseLocation) {
+}
@@ -0,0 +1,30 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Read model for a product with a summary of its supplier.
+ *
+ * @param productId   product primary key
+ * @param productName product name
+ * @param price       unit price
+ * @param category    optional category
+ * @param supplier    supplier summary, or {@code null} if the product has none
+ */
+public record ProductView(Long productId, String productName, double price, String category, SupplierSummary supplier) {
+
+    /**
+     * Constructor used by JPQL constructor expressions that outer-join the supplier.
+     *
+     * @param productId     product primary key
+     * @param productName   product name
+     * @param price         unit price
+     * @param category      optional category
+     * @param supplierId    supplier primary key, or {@code null}
+     * @param supplierName  supplier name
+     * @param supplierEmail supplier contact email
+     */
+    public ProductView(Long productId, String productName, double price, String category,
+                       Long supplierId, String supplierName, String supplierEmail) {
+        this(productId, productName, price, category,
+             SupplierSummary.ofNullable(supplierId, supplierName, supplierEmail));
+    }
+}
@@ -0,0 +1,57 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a restock order with its warehouse, product and supplier.
+ *
+ * @param restockId   restock order primary key
+ * @param restockRef  external reference number
+ * @param warehouse   receiving warehouse
+ * @param product     restocked product (without supplier; see {@code supplier})
+ * @param supplier    supplier the order was placed with, or {@code null}
+ * @param amount      units ordered
+ * @param restockDate time the order was placed
+ * @param orderedBy   user who placed the order
+ */
+public record RestockOrderView(
+        Long restockId,
+        Long restockRef,
+        WarehouseView warehouse,
+        ProductView product,
+        SupplierSummary supplier,
+        int amount,
+        LocalDateTime restockDate,
+        String orderedBy) {
+
+    /**
+     * Constructor used by JPQL constructor expressions over the restock and its references.
+     *
+     * @param restockId         restock order primary key
+     * @param restockRef        external reference number
+     * @param amount            units ordered
+     * @param restockDate       time the order was placed
+     * @param orderedBy         user who placed the order
+     * @param warehouseId       warehouse primary key
+     * @param warehouseName     warehouse name
+     * @param warehouseLocation warehouse location
+     * @param capacity          warehouse capacity
+     * @param productId         product primary key
+     * @param productName       product name
+     * @param price             unit price
+     * @param category          product category
+     * @param supplierId        supplier primary key, or {@code null}
+     * @param supplierName      supplier name
+     * @param supplierEmail     supplier contact email
+     */
+    public RestockOrderView(Long restockId, Long restockRef, int amount, LocalDateTime restockDate, String orderedBy,
+                            Long warehouseId, String warehouseName, String warehouseLocation, int capacity,
+                            Long productId, String productName, double price, String category,
+                            Long supplierId, String supplierName, String supplierEmail) {
+        this(restockId, restockRef,
+             new WarehouseView(warehouseId, warehouseName, warehouseLocation, capacity),
+             new ProductView(productId, productName, price, category, null),
+             SupplierSummary.ofNullable(supplierId, supplierName, supplierEmail),
+             amount, restockDate, orderedBy);
+    }
+}
@@ -0,0 +1,19 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Quantity and minimum stock of one inventory row, as returned by atomic stock updates.
+ *
+ * @param quantity     units on hand
+ * @param minimumStock reorder threshold of the row
+ */
+public record StockLevel(int quantity, int minimumStock) {
+
+    /**
+     * Tells whether the row is below its minimum stock.
+     *
+     * @return {@code true} if the quantity is under the minimum
+     */
+    public boolean belowMinimum() {
+        return quantity < minimumStock;
+    }
+}
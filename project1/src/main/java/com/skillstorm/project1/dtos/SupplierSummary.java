@@ -0,0 +1,24 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Supplier reference embedded in product, inventory and restock read models.
+ * Carries only the fields the dashboard displays next to a product.
+ *
+ * @param supplierId   supplier primary key
+ * @param name         supplier name
+ * @param contactEmail supplier contact email
+ */
+public record SupplierSummary(Long supplierId, String name, String contactEmail) {
+
+    /**
+     * Builds a summary from outer-joined columns.
+     *
+     * @param supplierId   supplier primary key, or {@code null} when there is no supplier
+     * @param name         supplier name
+     * @param contactEmail supplier contact email
+     * @return the summary, or {@code null} when {@code supplierId} is {@code null}
+     */
+    public static SupplierSummary ofNullable(Long supplierId, String name, String contactEmail) {
+        return supplierId == null ? null : new SupplierSummary(supplierId, name, contactEmail);
+    }
+}
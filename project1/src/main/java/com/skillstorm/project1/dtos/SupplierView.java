@@ -0,0 +1,13 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Read model for a supplier, projected directly from the suppliers table.
+ *
+ * @param supplierId   supplier primary key
+ * @param name         supplier name
+ * @param contactEmail contact email
+ * @param phone        phone number
+ * @param address      postal address
+ */
+public record SupplierView(Long supplierId, String name, String contactEmail, String phone, String address) {
+}
@@ -0,0 +1,16 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * One line of a bulk transfer request.
+ *
+ * @param productId         product to move
+ * @param sourceWarehouseId warehouse to take stock from
+ * @param targetWarehouseId warehouse to move stock into
+ * @param amount            quantity to move
+ */
+public record TransferLine(
+        Long productId,
+        Long sourceWarehouseId,
+        Long targetWarehouseId,
+        int amount) {
+}
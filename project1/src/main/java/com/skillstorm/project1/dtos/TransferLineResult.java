@@ -0,0 +1,45 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Outcome of one line of a bulk transfer.
+ *
+ * @param line           zero-based index of the line in the request
+ * @param productId      product the line refers to
+ * @param applied        whether the line was applied
+ * @param message        reason the line was rejected, or {@code null} if applied
+ * @param sourceQuantity source quantity after this line, or {@code null} if rejected
+ * @param targetQuantity target quantity after this line, or {@code null} if rejected
+ */
+public record TransferLineResult(
+        int line,
+        Long productId,
+        boolean applied,
+        String message,
+        Integer sourceQuantity,
+        Integer targetQuantity) {
+
+    /**
+     * Creates the result for a line that was applied.
+     *
+     * @param line           line index
+     * @param productId      product ID
+     * @param sourceQuantity source quantity after the line
+     * @param targetQuantity target quantity after the line
+     * @return the result
+     */
+    public static TransferLineResult applied(int line, Long productId, int sourceQuantity, int targetQuantity) {
+        return new TransferLineResult(line, productId, true, null, sourceQuantity, targetQuantity);
+    }
+
+    /**
+     * Creates the result for a line that was rejected.
+     *
+     * @param line      line index
+     * @param productId product ID
+     * @param message   reason for the rejection
+     * @return the result
+     */
+    public static TransferLineResult rejected(int line, Long productId, String message) {
+        return new TransferLineResult(line, productId, false, message, null, null);
+    }
+}
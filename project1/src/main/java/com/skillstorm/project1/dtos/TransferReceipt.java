@@ -0,0 +1,26 @@
+package com.skillstorm.project1.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of a completed inventory transfer.
+ *
+ * @param transferId        ID of the {@code InventoryTransfer} ledger entry
+ * @param productId         product that was moved
+ * @param sourceWarehouseId warehouse the stock was taken from
+ * @param targetWarehouseId warehouse the stock was moved into
+ * @param amount            quantity moved
+ * @param sourceQuantity    quantity left in the source warehouse
+ * @param targetQuantity    quantity now held by the target warehouse
+ * @param transferDate      time the transfer was recorded
+ */
+public record TransferReceipt(
+        Long transferId,
+        Long productId,
+        Long sourceWarehouseId,
+        Long targetWarehouseId,
+        int amount,
+        int sourceQuantity,
+        int targetQuantity,
+        LocalDateTime transferDate) {
+}
@@ -0,0 +1,34 @@
+package com.skillstorm.project1.dtos;
+
+import com.skillstorm.project1.models.User;
+
+/**
+ * Read model for a user. Never carries the password hash.
+ *
+ * @param userId    user primary key
+ * @param firstName first name
+ * @param lastName  last name
+ * @param email     login email
+ * @param jobTitle  job title
+ */
+public record UserView(Long userId, String firstName, String lastName, String email, String jobTitle) {
+
+    /**
+     * Full display name, serialized as {@code fullName} like the entity getter.
+     *
+     * @return first and last name separated by a space
+     */
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    /**
+     * Creates a view of a user held outside the persistence context, e.g. in the session.
+     *
+     * @param user the user
+     * @return the view
+     */
+    public static UserView of(User user) {
+        return new UserView(user.getUserId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.getJobTitle());
+    }
+}
@@ -0,0 +1,12 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * A cached read result together with the entity tag of the data versions it was read at.
+ * Caching the tag with the content keeps them consistent while a stale entry awaits eviction.
+ *
+ * @param etag    quoted entity tag the content was read under
+ * @param content the content
+ * @param <T>     content type
+ */
+public record Versioned<T>(String etag, T content) {
+}
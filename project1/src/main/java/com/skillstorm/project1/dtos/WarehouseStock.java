@@ -0,0 +1,35 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Quantity of one product held in one warehouse; a cell of the product-by-warehouse
+ * stock matrix. Warehouses that do not stock the product report a quantity of 0.
+ *
+ * @param productId     product primary key
+ * @param warehouseId   warehouse primary key
+ * @param warehouseName warehouse name
+ * @param quantity      units on hand, 0 when there is no inventory row
+ * @param capacity      maximum storage capacity of the warehouse
+ */
+public record WarehouseStock(
+        Long productId,
+        Long warehouseId,
+        String warehouseName,
+        int quantity,
+        int capacity) {
+
+    /**
+     * Constructor used by the JPQL constructor expression. The outer join yields
+     * {@code null} for warehouses without an inventory row.
+     *
+     * @param productId     product primary key
+     * @param warehouseId   warehouse primary key
+     * @param warehouseName warehouse name
+     * @param quantity      units on hand, or {@code null}
+     * @param capacity      warehouse capacity, or {@code null}
+     */
+    public WarehouseStock(Long productId, Long warehouseId, String warehouseName, Integer quantity, Integer capacity) {
+        this(productId, warehouseId, warehouseName,
+             quantity == null ? 0 : quantity,
+             capacity == null ? 0 : capacity);
+    }
+}
@@ -0,0 +1,47 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Read model for a warehouse together with its aggregated inventory totals.
+ * Built directly by a GROUP BY projection so no {@code Inventory} rows are loaded.
+ *
+ * @param warehouseId         warehouse primary key
+ * @param name                warehouse name
+ * @param location            warehouse location
+ * @param capacity            maximum storage capacity
+ * @param totalSupply         sum of all inventory quantities stored in the warehouse
+ * @param distinctSkus        number of distinct products stocked in the warehouse
+ * @param totalValue          sum of quantity multiplied by product price
+ * @param capacityUtilization {@code totalSupply / capacity}, or 0 when capacity is not set
+ */
+public record WarehouseTotals(
+        Long warehouseId,
+        String name,
+        String location,
+        int capacity,
+        long totalSupply,
+        long distinctSkus,
+        double totalValue,
+        double capacityUtilization) {
+
+    /**
+     * Constructor used by the JPQL constructor expression. Aggregates over a warehouse
+     * without inventory come back as {@code null} and are normalized to zero here.
+     *
+     * @param warehouseId  warehouse primary key
+     * @param name         warehouse name
+     * @param location     warehouse location
+     * @param capacity     maximum storage capacity
+     * @param totalSupply  summed quantity, or {@code null} if the warehouse is empty
+     * @param distinctSkus number of inventory rows
+     * @param totalValue   summed valuation, or {@code null} if the warehouse is empty
+     */
+    public WarehouseTotals(Long warehouseId, String name, String location, Integer capacity,
+                           Long totalSupply, Long distinctSkus, Double totalValue) {
+        this(warehouseId, name, location,
+             capacity == null ? 0 : capacity,
+             totalSupply == null ? 0L : totalSupply,
+             distinctSkus == null ? 0L : distinctSkus,
+             totalValue == null ? 0.0 : totalValue,
+             capacity == null || capacity == 0 || totalSupply == null ? 0.0 : (double) totalSupply / capacity);
+    }
+}
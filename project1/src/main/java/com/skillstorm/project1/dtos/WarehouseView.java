@@ -0,0 +1,12 @@
+package com.skillstorm.project1.dtos;
+
+/**
+ * Read model for a warehouse without its inventory.
+ *
+ * @param warehouseId warehouse primary key
+ * @param name        warehouse name
+ * @param location    warehouse location
+ * @param capacity    maximum storage capacity
+ */
+public record WarehouseView(Long warehouseId, String name, String location, int capacity) {
+}
@@ -4,29 +4,41 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+/**
+ * Records a quantity of a product removed from a warehouse by a user.
+ * <p>
+ * Indexed on (checkout_date, checkout_id), optionally prefixed by warehouse or product,
+ * or by lower(user_email) in schema.sql, so keyset-paginated history queries read only
+ * the rows of the requested page.
+ * </p>
+ */
 @Entity
-@Table(name = "checkouts")
+@Table(name = "checkouts", indexes = {
+        @Index(name = "idx_checkouts_date_id", columnList = "checkout_date, checkout_id"),
+        @Index(name = "idx_checkouts_warehouse_date_id", columnList = "warehouse_id, checkout_date, checkout_id"),
+        @Index(name = "idx_checkouts_product_date_id", columnList = "product_id, checkout_date, checkout_id")
+})
 public class Checkout {
 
     /**
      * Primary key for the checkout record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("checkouts_checkout_id_seq")
     private Long checkoutId;
 
     /**
      * Warehouse where the product is checked out from.
      * Cannot be null.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "warehouse_id", nullable = false)
     private Warehouse warehouse;
 
@@ -34,7 +46,7 @@ public class Checkout {
      * Product that was checked out.
      * Cannot be null.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
@@ -6,8 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -26,17 +25,17 @@ public class Inventory {
 
     /** Primary key for the inventory record. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("inventory_inventory_id_seq")
     private Long inventoryId;
 
     /** Warehouse where the product is stored. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "warehouse_id", nullable = false)
     @JsonIgnore
     private Warehouse warehouse;
 
     /** Product stored in this warehouse. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
@@ -55,6 +54,15 @@ public class Inventory {
     /** Last time this record was modified. */
     private LocalDateTime lastUpdated = LocalDateTime.now();
 
+    /**
+     * ID of the transaction that last wrote this row, set by a database trigger
+     * (see schema.sql). Used as the delta-sync cursor; never written by Hibernate.
+     */
+    @Column(name = "change_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    @JsonIgnore
+    private long changeVersion;
+
     /**
      * Default constructor.
      */
@@ -97,4 +105,6 @@ public class Inventory {
 
     public int getWarehouseLocation() {return warehouseLocation;}
     public void setWarehouseLocation(int warehouseLocation) {this.warehouseLocation = warehouseLocation;}
+
+    public long getChangeVersion() { return changeVersion; }
 }
@@ -0,0 +1,85 @@
+package com.skillstorm.project1.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Ledger entry recording a quantity of a product moved from one warehouse to another.
+ * One row is written for every completed transfer.
+ */
+@Entity
+@Table(name = "inventory_transfers")
+public class InventoryTransfer {
+
+    /** Primary key for the transfer record. */
+    @Id
+    @PooledSequence("inventory_transfers_transfer_id_seq")
+    private Long transferId;
+
+    /** Product that was moved. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    /** Warehouse the stock was taken from. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_warehouse_id", nullable = false)
+    private Warehouse sourceWarehouse;
+
+    /** Warehouse the stock was moved into. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "target_warehouse_id", nullable = false)
+    private Warehouse targetWarehouse;
+
+    /** Quantity moved. */
+    @Column(nullable = false)
+    private int amount;
+
+    /** Time the transfer was recorded. */
+    private LocalDateTime transferDate = LocalDateTime.now();
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public InventoryTransfer() {}
+
+    /**
+     * Creates a new transfer record.
+     *
+     * @param product         product being moved
+     * @param sourceWarehouse warehouse the stock leaves
+     * @param targetWarehouse warehouse the stock arrives at
+     * @param amount          quantity moved
+     */
+    public InventoryTransfer(Product product, Warehouse sourceWarehouse, Warehouse targetWarehouse, int amount) {
+        this.product = product;
+        this.sourceWarehouse = sourceWarehouse;
+        this.targetWarehouse = targetWarehouse;
+        this.amount = amount;
+    }
+
+    public Long getTransferId() { return transferId; }
+    public void setTransferId(Long transferId) { this.transferId = transferId; }
+
+    public Product getProduct() { return product; }
+    public void setProduct(Product product) { this.product = product; }
+
+    public Warehouse getSourceWarehouse() { return sourceWarehouse; }
+    public void setSourceWarehouse(Warehouse sourceWarehouse) { this.sourceWarehouse = sourceWarehouse; }
+
+    public Warehouse getTargetWarehouse() { return targetWarehouse; }
+    public void setTargetWarehouse(Warehouse targetWarehouse) { this.targetWarehouse = targetWarehouse; }
+
+    public int getAmount() { return amount; }
+    public void setAmount(int amount) { this.amount = amount; }
+
+    public LocalDateTime getTransferDate() { return transferDate; }
+    public void setTransferDate(LocalDateTime transferDate) { this.transferDate = transferDate; }
+}
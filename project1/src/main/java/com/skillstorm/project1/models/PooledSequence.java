@@ -0,0 +1,28 @@
+package com.skillstorm.project1.models;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates an entity's ID from a database sequence, reserving a block of
+ * {@code stocksmart.id.allocation-size} values per call so inserts can be batched.
+ * Used in place of {@code GenerationType.IDENTITY}, which makes Hibernate insert
+ * every row on its own as soon as it is persisted.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledSequence {
+
+    /**
+     * Name of the database sequence.
+     *
+     * @return the sequence name
+     */
+    String value();
+}
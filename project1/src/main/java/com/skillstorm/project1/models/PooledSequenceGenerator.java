@@ -0,0 +1,52 @@
+package com.skillstorm.project1.models;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator behind {@link PooledSequence}.
+ * <p>
+ * Uses Hibernate's pooled optimizer: each {@code nextval} returns the top of a block of
+ * allocation-size IDs, so the sequence must be declared with the same increment. The
+ * allocation size is read from the Hibernate setting {@value #ALLOCATION_SIZE}, which
+ * {@code IdGenerationConfig} fills from {@code stocksmart.id.allocation-size}.
+ * </p>
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /** Hibernate setting holding the number of IDs reserved per sequence call. */
+    public static final String ALLOCATION_SIZE = "stocksmart.id.allocation_size";
+
+    /** Allocation size used when the setting is absent. */
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    /**
+     * Creates the generator for one ID property.
+     *
+     * @param config the annotation on the ID field
+     */
+    public PooledSequenceGenerator(PooledSequence config) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(OptimizableGenerator.INCREMENT_PARAM, Integer.toString(allocationSize(serviceRegistry)));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    private static int allocationSize(ServiceRegistry serviceRegistry) {
+        return ConfigurationHelper.getInt(ALLOCATION_SIZE,
+                serviceRegistry.requireService(ConfigurationService.class).getSettings(), DEFAULT_ALLOCATION_SIZE);
+    }
+}
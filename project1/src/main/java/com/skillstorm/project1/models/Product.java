@@ -3,12 +3,12 @@ package com.skillstorm.project1.models;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -20,6 +20,7 @@ import jakarta.persistence.Table;
  * Each product can appear in multiple inventory records across warehouses.
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "products")
 public class Product {
 
@@ -27,7 +28,7 @@ public class Product {
      * Primary key for the product.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("products_product_id_seq")
     private Long productId;
 
     /**
@@ -51,7 +52,7 @@ public class Product {
     /**
      * Many-to-one relationship linking this product to a supplier.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", referencedColumnName = "supplierId", nullable = true)
     private Supplier supplier;
 
@@ -3,11 +3,10 @@ package com.skillstorm.project1.models;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -19,6 +18,7 @@ import jakarta.persistence.Table;
  * Mapped to the "suppliers" table.
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "suppliers")
 public class Supplier {
 
@@ -27,7 +27,7 @@ public class Supplier {
      * Auto-generated.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("suppliers_supplier_id_seq")
     private Long supplierId;
 
     /**
@@ -2,8 +2,6 @@ package com.skillstorm.project1.models;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
@@ -17,10 +15,10 @@ public class User {
 
     /**
      * Primary key for the user.
-     * Auto-generated identity value.
+     * Generated from the users_user_id_seq sequence.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("users_user_id_seq")
     private Long userId;
 
     /**
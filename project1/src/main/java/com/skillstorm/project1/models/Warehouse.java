@@ -2,11 +2,12 @@ package com.skillstorm.project1.models;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -18,11 +19,12 @@ import jakarta.persistence.Table;
  * A warehouse can contain multiple {@link Inventory} records.
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "warehouses")
 public class Warehouse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("warehouses_warehouse_id_seq")
     private Long warehouseId;
 
     @Column(nullable = false)
@@ -37,8 +39,10 @@ public class Warehouse {
     /**
      * Inventory items stored in this warehouse.
      * Cascade ALL ensures the inventory rows are removed when a warehouse is deleted.
+     * Ignored during JSON serialization so a warehouse reference does not pull in its whole inventory.
      */
     @OneToMany(mappedBy = "warehouse", cascade = CascadeType.ALL)
+    @JsonIgnore
     private List<Inventory> inventoryItems;
 
     /**
@@ -0,0 +1,36 @@
+package com.skillstorm.project1.monitoring;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Counts entities Hibernate hydrates for the current request's {@link RequestSqlStats}.
+ * Read-model queries that project straight into DTOs load no entities.
+ */
+public class EntityLoadCounter implements Integrator, PostLoadEventListener {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.skillstorm.project1.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Database and response-writing counters for the request being handled on the current thread.
+ * <p>
+ * {@link SqlAccountingFilter} opens a collector when a request starts and closes it when
+ * the request ends; the JDBC proxies, the Hibernate load listener and the JSON converter
+ * add to whichever collector is open on their thread. Work done on other threads (e.g.
+ * server-sent events) is not attributed to any request.
+ * </p>
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int statements;
+    private long rows;
+    private int entityLoads;
+    private long databaseNanos;
+    private long bodyWriteNanos;
+
+    private RequestSqlStats() {
+    }
+
+    /**
+     * Opens a collector for the current thread.
+     *
+     * @return the new collector
+     */
+    static RequestSqlStats open() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Closes the current thread's collector.
+     */
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the collector of the request on the current thread.
+     *
+     * @return the collector, or {@code null} outside a request
+     */
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        databaseNanos += nanos;
+    }
+
+    void rowFetched(long nanos) {
+        rows++;
+        databaseNanos += nanos;
+    }
+
+    void fetchEnded(long nanos) {
+        databaseNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void bodyWritten(long nanos) {
+        bodyWriteNanos += nanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    /**
+     * Formats the counters as a {@code Server-Timing} header value. Time not spent in the
+     * database is reported as {@code app}: request handling, Hibernate hydration and the
+     * service code. The header goes out before the body, so writing it is not included.
+     *
+     * @param threshold statement count above which the request is flagged
+     * @return the header value
+     */
+    String serverTiming(int threshold) {
+        long totalNanos = System.nanoTime() - startNanos;
+        String value = String.format(Locale.ROOT,
+                "db;dur=%.1f;desc=\"%d statements, %d rows\", hydrate;desc=\"%d entity loads\", app;dur=%.1f, total;dur=%.1f",
+                millis(databaseNanos), statements, rows, entityLoads,
+                millis(Math.max(0, totalNanos - databaseNanos)), millis(totalNanos));
+        return statements > threshold
+                ? value + ", sql-flag;desc=\"more than " + threshold + " statements\""
+                : value;
+    }
+
+    /**
+     * Formats the counters as {@code key=value} pairs for the request log line, which is
+     * written once the response body has been sent.
+     *
+     * @return the pairs
+     */
+    String logFields() {
+        long totalNanos = System.nanoTime() - startNanos;
+        return String.format(Locale.ROOT,
+                "statements=%d rows=%d entityLoads=%d dbMs=%.1f writeMs=%.1f totalMs=%.1f",
+                statements, rows, entityLoads, millis(databaseNanos), millis(bodyWriteNanos), millis(totalNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
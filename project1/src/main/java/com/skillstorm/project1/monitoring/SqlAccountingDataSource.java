@@ -0,0 +1,126 @@
+package com.skillstorm.project1.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source that attributes JDBC work to the current request's {@link RequestSqlStats}.
+ * <p>
+ * Connections, statements and result sets are wrapped in dynamic proxies. Every
+ * {@code execute*} call counts as one statement (a batch counts once, as it is one round
+ * trip), and its duration, plus the time spent in {@code ResultSet.next()}, counts as
+ * database time. Everything else is passed straight through, including {@code unwrap},
+ * so driver-specific APIs such as COPY keep working (but are not counted).
+ * </p>
+ */
+public class SqlAccountingDataSource extends DelegatingDataSource {
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target the pooled data source
+     */
+    public SqlAccountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        if (target == null) {
+            return null;
+        }
+        return type.cast(Proxy.newProxyInstance(SqlAccountingDataSource.class.getClassLoader(),
+                new Class<?>[] { type }, new Accounting(target)));
+    }
+
+    /** Shared handler for the three proxy types; dispatches on the called method. */
+    private static final class Accounting implements InvocationHandler {
+
+        private final Object target;
+
+        Accounting(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            RequestSqlStats stats = RequestSqlStats.current();
+            if (stats == null) {
+                return call(method, args);
+            }
+            if (target instanceof ResultSet && name.equals("next")) {
+                long start = System.nanoTime();
+                Object hasRow = call(method, args);
+                if ((Boolean) hasRow) {
+                    stats.rowFetched(System.nanoTime() - start);
+                } else {
+                    stats.fetchEnded(System.nanoTime() - start);
+                }
+                return hasRow;
+            }
+            if (target instanceof Statement && name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    return wrapResult(call(method, args));
+                } finally {
+                    stats.statementExecuted(System.nanoTime() - start);
+                }
+            }
+            return wrapResult(call(method, args));
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /** Wraps statements created by a connection and result sets returned by a statement. */
+        private Object wrapResult(Object result) {
+            if (target instanceof Connection) {
+                if (result instanceof CallableStatement callable) {
+                    return wrap(CallableStatement.class, callable);
+                }
+                if (result instanceof PreparedStatement prepared) {
+                    return wrap(PreparedStatement.class, prepared);
+                }
+                if (result instanceof Statement statement) {
+                    return wrap(Statement.class, statement);
+                }
+            } else if (target instanceof Statement && result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, resultSet);
+            }
+            return result;
+        }
+    }
+}
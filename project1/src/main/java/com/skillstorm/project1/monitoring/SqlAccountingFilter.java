@@ -0,0 +1,139 @@
+package com.skillstorm.project1.monitoring;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.skillstorm.project1.conrollers.InventoryController;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Reports the SQL and response-writing cost of every request handled by a controller.
+ * <p>
+ * The database counters are sent in a {@code Server-Timing} header, added just before the
+ * response is committed, and all counters, including the time spent writing the body, are
+ * written as one {@code key=value} log line when the request completes.
+ * Requests that execute more statements than the threshold are logged at WARN and marked
+ * {@code sql-flag} in the header: a listing whose statement count grows with its row
+ * count is an N+1 regression. Static resources and actuator requests are not reported.
+ * </p>
+ */
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+    private static final String CONTROLLER_PACKAGE = InventoryController.class.getPackageName();
+
+    private final int statementThreshold;
+
+    /**
+     * Creates the filter.
+     *
+     * @param statementThreshold statement count above which a request is flagged
+     */
+    public SqlAccountingFilter(int statementThreshold) {
+        this.statementThreshold = statementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.open();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(request, response, stats);
+        try {
+            chain.doFilter(request, timedResponse);
+            timedResponse.addServerTiming();
+        } finally {
+            RequestSqlStats.close();
+            String handler = controllerHandler(request);
+            if (handler != null) {
+                String line = String.format("method=%s path=%s handler=%s status=%d %s", request.getMethod(),
+                        request.getRequestURI(), handler, response.getStatus(), stats.logFields());
+                if (stats.statements() > statementThreshold) {
+                    log.warn("{} flagged=true threshold={}", line, statementThreshold);
+                } else {
+                    log.info(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code Controller#method} if a controller handled the request, else {@code null}.
+     */
+    private static String controllerHandler(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method
+                && method.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE)) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return null;
+    }
+
+    /** Adds the header the first time the response is about to be committed. */
+    private final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final RequestSqlStats stats;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletRequest request, HttpServletResponse response, RequestSqlStats stats) {
+            super(response);
+            this.request = request;
+            this.stats = stats;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted() && controllerHandler(request) != null) {
+                setHeader("Server-Timing", stats.serverTiming(statementThreshold));
+            }
+            added = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
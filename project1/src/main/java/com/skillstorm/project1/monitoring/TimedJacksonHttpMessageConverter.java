@@ -0,0 +1,48 @@
+package com.skillstorm.project1.monitoring;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON converter that records how long writing the response body took in the current
+ * request's {@link RequestSqlStats}.
+ * <p>
+ * The body is streamed to the client as it is serialized, like the standard converter, so
+ * the time covers serialization and sending together. It is only known once the headers
+ * have gone out, so it appears in the request's log line rather than in
+ * {@code Server-Timing}. Outside a request (e.g. server-sent events) nothing is recorded.
+ * </p>
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Creates the converter.
+     *
+     * @param objectMapper the application's object mapper
+     */
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            stats.bodyWritten(System.nanoTime() - start);
+        }
+    }
+}
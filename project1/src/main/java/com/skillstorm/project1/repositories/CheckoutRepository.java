@@ -3,18 +3,25 @@ package com.skillstorm.project1.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.project1.dtos.CheckoutRow;
 import com.skillstorm.project1.models.Checkout;
 
 @Repository
-public interface CheckoutRepository extends JpaRepository<Checkout, Long> {
+public interface CheckoutRepository extends JpaRepository<Checkout, Long>, JpaSpecificationExecutor<Checkout>,
+        CheckoutRepositoryCustom {
 
     /**
-     * Retrieves all checkout records ordered by checkout date in descending order.
+     * Retrieves all checkouts as flat rows ordered by checkout date in descending order.
      *
-     * @return a list of {@link Checkout} entities sorted with the most recent
-     *         checkout first
+     * @return a list of {@link CheckoutRow} read models with the most recent checkout first
      */
-    List<Checkout> findAllByOrderByCheckoutDateDesc();
+    @Query("SELECT new com.skillstorm.project1.dtos.CheckoutRow(" +
+           "c.checkoutId, c.amount, c.checkoutDate, c.userEmail, w.warehouseId, w.name, p.productId, p.productName) " +
+           "FROM Checkout c JOIN c.warehouse w JOIN c.product p " +
+           "ORDER BY c.checkoutDate DESC, c.checkoutId DESC")
+    List<CheckoutRow> findCheckoutRows();
 }
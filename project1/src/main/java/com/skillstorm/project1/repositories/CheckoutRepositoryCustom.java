@@ -0,0 +1,26 @@
+package com.skillstorm.project1.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.skillstorm.project1.dtos.CheckoutRow;
+import com.skillstorm.project1.models.Checkout;
+
+/**
+ * Checkout queries that Spring Data cannot derive: specification-filtered
+ * history projected straight into {@link CheckoutRow} read models.
+ */
+public interface CheckoutRepositoryCustom {
+
+    /**
+     * Returns checkouts matching a specification as flat rows, without loading entities.
+     *
+     * @param spec  filter to apply
+     * @param sort  row order
+     * @param limit maximum number of rows
+     * @return matching rows in the requested order
+     */
+    List<CheckoutRow> findCheckoutRows(Specification<Checkout> spec, Sort sort, int limit);
+}
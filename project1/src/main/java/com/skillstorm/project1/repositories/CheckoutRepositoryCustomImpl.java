@@ -0,0 +1,59 @@
+package com.skillstorm.project1.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.skillstorm.project1.dtos.CheckoutRow;
+import com.skillstorm.project1.models.Checkout;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Warehouse;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria implementation of {@link CheckoutRepositoryCustom}; picked up by
+ * Spring Data as a fragment of {@link CheckoutRepository}.
+ */
+class CheckoutRepositoryCustomImpl implements CheckoutRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Creates the fragment with the shared entity manager.
+     *
+     * @param entityManager transactional entity manager proxy
+     */
+    CheckoutRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<CheckoutRow> findCheckoutRows(Specification<Checkout> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CheckoutRow> query = cb.createQuery(CheckoutRow.class);
+        Root<Checkout> checkout = query.from(Checkout.class);
+        Join<Checkout, Warehouse> warehouse = checkout.join("warehouse");
+        Join<Checkout, Product> product = checkout.join("product");
+
+        query.select(cb.construct(CheckoutRow.class,
+                checkout.get("checkoutId"), checkout.get("amount"), checkout.get("checkoutDate"),
+                checkout.get("userEmail"), warehouse.get("warehouseId"), warehouse.get("name"),
+                product.get("productId"), product.get("productName")));
+
+        Predicate predicate = spec.toPredicate(checkout, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, checkout, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
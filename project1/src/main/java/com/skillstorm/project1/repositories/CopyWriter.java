@@ -0,0 +1,170 @@
+package com.skillstorm.project1.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Buffered writer for one PostgreSQL COPY in text format, on the transaction's connection.
+ * Fields are appended one at a time and rows flushed to the server in chunks, so memory
+ * use stays constant however many rows are written. Closing the writer cancels an
+ * unfinished COPY and releases the connection.
+ */
+public final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 256 * 1024;
+
+    private final CopyIn copyIn;
+    private final Connection connection;
+    private final DataSource dataSource;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private boolean rowStarted;
+    private boolean finished;
+
+    private CopyWriter(CopyIn copyIn, Connection connection, DataSource dataSource) {
+        this.copyIn = copyIn;
+        this.connection = connection;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Starts a COPY into a table on the current transaction's connection.
+     *
+     * @param dataSource data source used to reach the transaction's connection
+     * @param table      table name
+     * @param columns    columns in the order the rows supply them
+     * @return a writer that must be closed to release the connection
+     * @throws SQLException if the COPY cannot be started
+     */
+    static CopyWriter open(DataSource dataSource, String table, String... columns) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT text)");
+            return new CopyWriter(copyIn, connection, dataSource);
+        } catch (SQLException | RuntimeException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a numeric field.
+     *
+     * @param value the value
+     * @return this writer
+     */
+    public CopyWriter field(long value) {
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a decimal field.
+     *
+     * @param value the value
+     * @return this writer
+     */
+    public CopyWriter field(double value) {
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a text field, escaping COPY's special characters.
+     *
+     * @param value the value
+     * @return this writer
+     */
+    public CopyWriter field(String value) {
+        separate();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends a timestamp field.
+     *
+     * @param value the value
+     * @return this writer
+     */
+    public CopyWriter field(LocalDateTime value) {
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    /**
+     * Ends the current row.
+     *
+     * @throws SQLException if the server rejects the data
+     */
+    public void endRow() throws SQLException {
+        buffer.append('\n');
+        rowStarted = false;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends any buffered rows and completes the COPY.
+     *
+     * @return number of rows copied
+     * @throws SQLException if the COPY fails
+     */
+    public long finish() throws SQLException {
+        flush();
+        finished = true;
+        return copyIn.endCopy();
+    }
+
+    private void separate() {
+        if (rowStarted) {
+            buffer.append('\t');
+        }
+        rowStarted = true;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Cancels the COPY if {@link #finish()} was not reached, and releases the connection.
+     *
+     * @throws SQLException if cancelling fails
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!finished && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
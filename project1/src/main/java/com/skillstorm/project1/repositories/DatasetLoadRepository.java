@@ -0,0 +1,127 @@
+package com.skillstorm.project1.repositories;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Bulk writes for the synthetic dataset generator.
+ * <p>
+ * Tables are filled through PostgreSQL COPY, which leaves the keys to the ID columns'
+ * sequence defaults; the generator reads the keys back in insertion order to build the
+ * foreign keys of the next table. All methods must run inside the caller's
+ * transaction.
+ * </p>
+ */
+@Repository
+public class DatasetLoadRepository {
+
+    /** Tables written by the generator, children first. */
+    private static final List<String> GENERATED_TABLES = List.of(
+            "checkouts", "restock_orders", "inventory_transfers", "inventory_tombstones",
+            "inventory", "products", "suppliers", "warehouses");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    /**
+     * Creates the repository.
+     *
+     * @param jdbcTemplate template bound to the application's data source
+     * @param dataSource   data source used to reach the transaction's connection
+     */
+    public DatasetLoadRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Checks whether any of the generated tables already holds rows.
+     *
+     * @return {@code true} if there is existing data
+     */
+    public boolean hasData() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM warehouses) OR EXISTS (SELECT 1 FROM products)
+                    OR EXISTS (SELECT 1 FROM suppliers) OR EXISTS (SELECT 1 FROM checkouts)
+                    OR EXISTS (SELECT 1 FROM restock_orders)
+                """, Boolean.class));
+    }
+
+    /**
+     * Empties every generated table and restarts the ID sequences they own.
+     * User accounts are kept.
+     */
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE " + String.join(", ", GENERATED_TABLES) + " RESTART IDENTITY");
+    }
+
+    /**
+     * Inserts user accounts, skipping emails that already exist.
+     *
+     * @param emails       login emails
+     * @param passwordHash encoded password shared by the accounts
+     */
+    public void insertUsers(List<String> emails, String passwordHash) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (email, first_name, last_name, job_title, password)
+                VALUES (?, 'Load', 'Tester', 'Associate', ?)
+                ON CONFLICT (email) DO NOTHING
+                """, emails, emails.size(), (ps, email) -> {
+                    ps.setString(1, email);
+                    ps.setString(2, passwordHash);
+                });
+    }
+
+    /**
+     * Opens a COPY stream into a table.
+     *
+     * @param table   table name
+     * @param columns columns in the order the rows supply them
+     * @return a writer that must be finished to complete the COPY, and closed to release the connection
+     * @throws SQLException if the COPY cannot be started
+     */
+    public CopyWriter copy(String table, String... columns) throws SQLException {
+        return CopyWriter.open(dataSource, table, columns);
+    }
+
+    /**
+     * Reads a table's primary keys in ascending order. Each copied row draws the next,
+     * higher value from the table's ID sequence, so for a table filled by one COPY
+     * this is the order the rows were copied in.
+     *
+     * @param table    table name
+     * @param idColumn primary key column
+     * @return the keys
+     */
+    public long[] findIds(String table, String idColumn) {
+        return jdbcTemplate.queryForList("SELECT " + idColumn + " FROM " + table + " ORDER BY " + idColumn, Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Sets each warehouse's capacity.
+     *
+     * @param warehouseIds warehouse IDs
+     * @param capacities   capacity per warehouse, in the same order
+     */
+    public void updateCapacities(long[] warehouseIds, int[] capacities) {
+        List<Object[]> args = new ArrayList<>(warehouseIds.length);
+        for (int i = 0; i < warehouseIds.length; i++) {
+            args.add(new Object[] { capacities[i], warehouseIds[i] });
+        }
+        jdbcTemplate.batchUpdate("UPDATE warehouses SET capacity = ? WHERE warehouse_id = ?", args);
+    }
+
+    /**
+     * Refreshes planner statistics for the whole database.
+     */
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
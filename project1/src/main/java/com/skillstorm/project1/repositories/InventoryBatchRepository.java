@@ -0,0 +1,203 @@
+package com.skillstorm.project1.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.project1.config.MetricsConfig;
+import com.skillstorm.project1.dtos.StockLevel;
+import com.skillstorm.project1.dtos.TransferLine;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * JDBC-level inventory operations used by bulk workflows.
+ * <p>
+ * Every write here is sent as a single JDBC batch, and lookups take all keys in one
+ * statement, so the number of round trips does not grow with the number of lines.
+ * All methods must run inside the caller's transaction.
+ * </p>
+ */
+@Repository
+@Timed(MetricsConfig.REPOSITORY_TIMER)
+public class InventoryBatchRepository {
+
+    /**
+     * Identifies one inventory row by its warehouse/product pair.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     */
+    public record StockKey(long warehouseId, long productId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the repository.
+     *
+     * @param jdbcTemplate template bound to the application's data source
+     */
+    public InventoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns which of the given warehouse IDs exist.
+     *
+     * @param warehouseIds warehouse IDs to check
+     * @return the subset of IDs that exist
+     */
+    public Set<Long> findExistingWarehouseIds(Collection<Long> warehouseIds) {
+        if (warehouseIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT warehouse_id FROM warehouses WHERE warehouse_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", warehouseIds.toArray())),
+                (rs, i) -> rs.getLong(1)));
+    }
+
+    /**
+     * Creates an empty target inventory row for each line whose target warehouse does not
+     * stock the product yet. Minimum stock and location are copied from the source row.
+     * <p>
+     * The rows are inserted in (warehouse ID, product ID) order, the order
+     * {@link #lockStock(Collection)} locks them in. A conflicting insert waits for the
+     * transaction that inserted the row first, so two batches inserting the same targets
+     * in different orders would each wait on the other.
+     * </p>
+     *
+     * @param lines transfer lines
+     * @return per-line insert counts, in the order of {@code lines} (1 if a row was created, otherwise 0)
+     */
+    public int[] insertEmptyTargets(List<TransferLine> lines) {
+        Integer[] order = IntStream.range(0, lines.size()).boxed()
+                .sorted(Comparator.comparing((Integer i) -> lines.get(i).targetWarehouseId())
+                        .thenComparing(i -> lines.get(i).productId()))
+                .toArray(Integer[]::new);
+        List<TransferLine> sorted = Arrays.stream(order).map(lines::get).toList();
+
+        int[] counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO inventory (warehouse_id, product_id, quantity, minimum_stock, warehouse_location, last_updated)
+                SELECT ?, product_id, 0, minimum_stock, warehouse_location, now()
+                  FROM inventory
+                 WHERE warehouse_id = ?
+                   AND product_id = ?
+                ON CONFLICT (warehouse_id, product_id) DO NOTHING
+                """,
+                sorted, sorted.size(), (ps, line) -> {
+                    ps.setLong(1, line.targetWarehouseId());
+                    ps.setLong(2, line.sourceWarehouseId());
+                    ps.setLong(3, line.productId());
+                })[0];
+
+        int[] inserted = new int[lines.size()];
+        for (int k = 0; k < order.length; k++) {
+            inserted[order[k]] = counts[k];
+        }
+        return inserted;
+    }
+
+    /**
+     * Row-locks the given inventory rows and returns their quantities and minimum stock.
+     * Rows are locked in (warehouse ID, product ID) order, the same order used by
+     * single transfers, so concurrent transfers cannot deadlock.
+     *
+     * @param keys rows to lock
+     * @return current stock level per row; keys without a row are absent
+     */
+    public Map<StockKey, StockLevel> lockStock(Collection<StockKey> keys) {
+        Map<StockKey, StockLevel> levels = new HashMap<>();
+        if (keys.isEmpty()) {
+            return levels;
+        }
+        Long[] warehouseIds = keys.stream().map(StockKey::warehouseId).toArray(Long[]::new);
+        Long[] productIds = keys.stream().map(StockKey::productId).toArray(Long[]::new);
+
+        jdbcTemplate.query("""
+                SELECT i.warehouse_id, i.product_id, i.quantity, i.minimum_stock
+                  FROM inventory i
+                  JOIN unnest(?::bigint[], ?::bigint[]) AS k(warehouse_id, product_id)
+                    ON i.warehouse_id = k.warehouse_id AND i.product_id = k.product_id
+                 ORDER BY i.warehouse_id, i.product_id
+                   FOR UPDATE OF i
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", warehouseIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", productIds));
+                },
+                rs -> {
+                    levels.put(new StockKey(rs.getLong(1), rs.getLong(2)), new StockLevel(rs.getInt(3), rs.getInt(4)));
+                });
+        return levels;
+    }
+
+    /**
+     * Applies quantity deltas to inventory rows in one batch.
+     *
+     * @param deltas quantity change per row; zero deltas are skipped
+     */
+    public void applyDeltas(Map<StockKey, Integer> deltas) {
+        List<Map.Entry<StockKey, Integer>> changes = deltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                UPDATE inventory
+                   SET quantity = quantity + ?, last_updated = now()
+                 WHERE warehouse_id = ?
+                   AND product_id = ?
+                """,
+                changes, changes.size(), (ps, change) -> {
+                    ps.setInt(1, change.getValue());
+                    ps.setLong(2, change.getKey().warehouseId());
+                    ps.setLong(3, change.getKey().productId());
+                });
+    }
+
+    /**
+     * Deletes inventory rows that are still empty, used to roll back target rows
+     * created for lines that were ultimately rejected.
+     *
+     * @param keys rows to delete if their quantity is zero
+     */
+    public void deleteIfEmpty(Collection<StockKey> keys) {
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM inventory WHERE warehouse_id = ? AND product_id = ? AND quantity = 0",
+                keys, keys.size(), (ps, key) -> {
+                    ps.setLong(1, key.warehouseId());
+                    ps.setLong(2, key.productId());
+                });
+    }
+
+    /**
+     * Writes one {@code inventory_transfers} ledger row per line in one batch.
+     *
+     * @param lines        applied transfer lines
+     * @param transferDate timestamp recorded on every row
+     */
+    public void insertTransfers(List<TransferLine> lines, LocalDateTime transferDate) {
+        Timestamp timestamp = Timestamp.valueOf(transferDate);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO inventory_transfers (product_id, source_warehouse_id, target_warehouse_id, amount, transfer_date)
+                VALUES (?, ?, ?, ?, ?)
+                """,
+                lines, lines.size(), (ps, line) -> {
+                    ps.setLong(1, line.productId());
+                    ps.setLong(2, line.sourceWarehouseId());
+                    ps.setLong(3, line.targetWarehouseId());
+                    ps.setInt(4, line.amount());
+                    ps.setTimestamp(5, timestamp);
+                });
+    }
+}
@@ -0,0 +1,130 @@
+package com.skillstorm.project1.repositories;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.project1.config.MetricsConfig;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Bulk-loads inventory through PostgreSQL COPY.
+ * <p>
+ * Rows are streamed into a transaction-scoped staging table and then merged into
+ * {@code inventory} with one INSERT ... ON CONFLICT statement on the
+ * (warehouse_id, product_id) unique constraint. All methods must run inside the
+ * caller's transaction, because the staging table is dropped on commit.
+ * </p>
+ */
+@Repository
+@Timed(MetricsConfig.REPOSITORY_TIMER)
+public class InventoryImportRepository {
+
+    /** Counts produced by {@link #upsertFromStaging()}. */
+    public record UpsertCounts(long inserted, long updated) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    /**
+     * Creates the repository.
+     *
+     * @param jdbcTemplate template bound to the application's data source
+     * @param dataSource   data source used to reach the transaction's connection
+     */
+    public InventoryImportRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Creates the staging table for this transaction.
+     */
+    public void createStaging() {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE inventory_import_staging (
+                    line_no            bigint  NOT NULL,
+                    warehouse_id       bigint  NOT NULL,
+                    product_id         bigint  NOT NULL,
+                    quantity           integer NOT NULL,
+                    minimum_stock      integer NOT NULL,
+                    warehouse_location integer NOT NULL
+                ) ON COMMIT DROP
+                """);
+    }
+
+    /**
+     * Opens a COPY stream into the staging table on the transaction's connection. Each row
+     * supplies line number, warehouse ID, product ID, quantity, minimum stock and warehouse
+     * location, in that order.
+     *
+     * @return a writer that must be closed to complete the COPY and release the connection
+     * @throws SQLException if the COPY cannot be started
+     */
+    public CopyWriter openStagingWriter() throws SQLException {
+        return CopyWriter.open(dataSource, "inventory_import_staging",
+                "line_no", "warehouse_id", "product_id", "quantity", "minimum_stock", "warehouse_location");
+    }
+
+    /**
+     * Removes staged rows whose warehouse or product does not exist.
+     *
+     * @param sampleLimit maximum number of line numbers to return
+     * @param samples     receives up to {@code sampleLimit} rejected line numbers
+     * @return number of rows removed
+     */
+    public long rejectUnknownReferences(int sampleLimit, List<Long> samples) {
+        long[] count = {0};
+        jdbcTemplate.query("""
+                DELETE FROM inventory_import_staging s
+                 WHERE NOT EXISTS (SELECT 1 FROM warehouses w WHERE w.warehouse_id = s.warehouse_id)
+                    OR NOT EXISTS (SELECT 1 FROM products p WHERE p.product_id = s.product_id)
+                RETURNING line_no
+                """, rs -> {
+                    if (samples.size() < sampleLimit) {
+                        samples.add(rs.getLong(1));
+                    }
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    /**
+     * Merges the staged rows into {@code inventory}. When a file lists the same
+     * warehouse/product pair more than once, the last row wins.
+     *
+     * @return number of rows inserted and updated
+     */
+    public UpsertCounts upsertFromStaging() {
+        return jdbcTemplate.queryForObject("""
+                WITH merged AS (
+                    INSERT INTO inventory (warehouse_id, product_id, quantity, minimum_stock, warehouse_location, last_updated)
+                    SELECT DISTINCT ON (warehouse_id, product_id)
+                           warehouse_id, product_id, quantity, minimum_stock, warehouse_location, now()
+                      FROM inventory_import_staging
+                     ORDER BY warehouse_id, product_id, line_no DESC
+                    ON CONFLICT (warehouse_id, product_id) DO UPDATE
+                       SET quantity = EXCLUDED.quantity,
+                           minimum_stock = EXCLUDED.minimum_stock,
+                           warehouse_location = EXCLUDED.warehouse_location,
+                           last_updated = EXCLUDED.last_updated
+                    RETURNING (xmax = 0) AS inserted
+                )
+                SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM merged
+                """, (rs, i) -> new UpsertCounts(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * Refreshes planner statistics for {@code inventory}. A large import changes the
+     * table's size and value distribution enough that stale statistics produce poor
+     * plans for the aggregate queries, so callers run this after large imports only.
+     */
+    public void analyzeInventory() {
+        jdbcTemplate.execute("ANALYZE inventory");
+    }
+}
@@ -1,11 +1,22 @@
 package com.skillstorm.project1.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.project1.dtos.CategoryValuation;
+import com.skillstorm.project1.dtos.InventoryView;
+import com.skillstorm.project1.dtos.MinimumStockChange;
+import com.skillstorm.project1.dtos.StockLevel;
+import com.skillstorm.project1.dtos.WarehouseStock;
+import com.skillstorm.project1.dtos.WarehouseTotals;
 import com.skillstorm.project1.models.Inventory;
 import com.skillstorm.project1.models.Product;
 import com.skillstorm.project1.models.Warehouse;
@@ -13,30 +24,115 @@ import com.skillstorm.project1.models.Warehouse;
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
+    /** Shared SELECT for {@link InventoryView} projections; callers append WHERE/ORDER BY. */
+    String INVENTORY_VIEW = "SELECT new com.skillstorm.project1.dtos.InventoryView(" +
+            "i.inventoryId, i.quantity, i.minimumStock, i.warehouseLocation, i.lastUpdated, " +
+            "p.productId, p.productName, p.price, p.category, s.supplierId, s.name, s.contactEmail) " +
+            "FROM Inventory i JOIN i.product p LEFT JOIN p.supplier s ";
+
     /**
-     * Returns all inventory records for the given warehouse.
+     * Returns every inventory record as a read model, in insertion order.
      *
-     * @param warehouseId the ID of the warehouse
-     * @return list of inventory records
+     * @return all inventory records
      */
-    List<Inventory> findByWarehouse_WarehouseId(Long warehouseId);
+    @Query(INVENTORY_VIEW + "ORDER BY i.inventoryId")
+    List<InventoryView> findInventoryViews();
 
     /**
-     * Returns all inventory records for the given warehouse,
+     * Returns one inventory record as a read model.
+     *
+     * @param inventoryId the inventory ID
+     * @return the inventory record, if present
+     */
+    @Query(INVENTORY_VIEW + "WHERE i.inventoryId = :inventoryId")
+    Optional<InventoryView> findInventoryViewById(@Param("inventoryId") Long inventoryId);
+
+    /**
+     * Returns the inventory of one warehouse as read models,
      * ordered alphabetically by product name.
      *
      * @param warehouseId the ID of the warehouse
      * @return sorted list of inventory records
      */
-    List<Inventory> findByWarehouse_WarehouseIdOrderByProduct_ProductNameAsc(Long warehouseId);
+    @Query(INVENTORY_VIEW + "WHERE i.warehouse.warehouseId = :warehouseId ORDER BY p.productName")
+    List<InventoryView> findInventoryViewsByWarehouse(@Param("warehouseId") Long warehouseId);
 
     /**
-     * Returns all inventory entries belonging to a specific product.
+     * Returns every inventory record of one product as read models.
      *
      * @param productId the ID of the product
      * @return list of inventory records
      */
-    List<Inventory> findByProduct_ProductId(Long productId);
+    @Query(INVENTORY_VIEW + "WHERE p.productId = :productId ORDER BY i.warehouse.warehouseId")
+    List<InventoryView> findInventoryViewsByProduct(@Param("productId") Long productId);
+
+    /**
+     * Returns the inventory records whose quantity is below their minimum stock level.
+     * Served by the partial index {@code idx_inventory_below_minimum} (see schema.sql),
+     * so the cost depends on the number of low-stock rows, not the table size.
+     *
+     * @return list of low-stock inventory records
+     */
+    @Query(INVENTORY_VIEW + "WHERE i.quantity < i.minimumStock")
+    List<InventoryView> findInventoryViewsBelowMinimumStock();
+
+    /**
+     * Returns the inventory records written at or after a change version,
+     * in change order. Served by {@code idx_inventory_change_version}.
+     *
+     * @param since lowest change version to include
+     * @return changed inventory records
+     */
+    @Query(INVENTORY_VIEW + "WHERE i.changeVersion >= :since ORDER BY i.changeVersion, i.inventoryId")
+    List<InventoryView> findInventoryViewsChangedSince(@Param("since") long since);
+
+    /**
+     * Returns the inventory records of one warehouse written at or after a change version,
+     * in change order.
+     *
+     * @param since       lowest change version to include
+     * @param warehouseId the warehouse ID
+     * @return changed inventory records
+     */
+    @Query(INVENTORY_VIEW + "WHERE i.changeVersion >= :since AND i.warehouse.warehouseId = :warehouseId " +
+           "ORDER BY i.changeVersion, i.inventoryId")
+    List<InventoryView> findInventoryViewsChangedSince(@Param("since") long since,
+                                                       @Param("warehouseId") Long warehouseId);
+
+    /**
+     * Returns the IDs of inventory records deleted at or after a change version,
+     * optionally limited to one warehouse.
+     *
+     * @param since       lowest change version to include
+     * @param warehouseId the warehouse ID, or {@code null} for all warehouses
+     * @return deleted inventory IDs
+     */
+    @Query(value = """
+            SELECT inventory_id
+              FROM inventory_tombstones
+             WHERE change_version >= :since
+               AND (CAST(:warehouseId AS bigint) IS NULL OR warehouse_id = :warehouseId)
+             ORDER BY change_version, inventory_id
+            """, nativeQuery = true)
+    List<Long> findDeletedInventoryIdsSince(@Param("since") long since, @Param("warehouseId") Long warehouseId);
+
+    /**
+     * Returns the oldest transaction ID that may still commit. Every change version
+     * below it belongs to a finished transaction that is already visible, so it is a
+     * safe cursor for the next delta sync.
+     *
+     * @return the current change horizon
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findChangeHorizon();
+
+    /**
+     * Returns all inventory records for the given warehouse.
+     *
+     * @param warehouseId the ID of the warehouse
+     * @return list of inventory records
+     */
+    List<Inventory> findByWarehouse_WarehouseId(Long warehouseId);
 
     /**
      * Finds a single inventory record for the given warehouse/product combination.
@@ -48,13 +144,182 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Inventory findByWarehouse_WarehouseIdAndProduct_ProductId(Long warehouseId, Long productId);
 
     /**
-     * Retrieves all inventory entries where the current quantity
-     * is below the defined minimum stock level.
+     * Checks whether an inventory record exists for the given warehouse/product combination.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @return true if a matching inventory record exists
+     */
+    boolean existsByWarehouse_WarehouseIdAndProduct_ProductId(Long warehouseId, Long productId);
+
+    /**
+     * Atomically subtracts stock from a warehouse/product pair with a single guarded UPDATE.
+     * The row is only changed when it holds at least {@code amount} units, so concurrent
+     * callers can never drive the quantity negative or overwrite each other's changes.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @param amount      amount to subtract
+     * @return the new quantity and the row's minimum stock, or {@code null} if the row is
+     *         missing or has insufficient stock
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE inventory
+               SET quantity = quantity - :amount, last_updated = now()
+             WHERE warehouse_id = :warehouseId
+               AND product_id = :productId
+               AND quantity >= :amount
+            RETURNING quantity, minimum_stock
+            """, nativeQuery = true)
+    StockLevel decrementQuantity(@Param("warehouseId") Long warehouseId,
+                                 @Param("productId") Long productId,
+                                 @Param("amount") int amount);
+
+    /**
+     * Atomically adds stock to a warehouse/product pair.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @param amount      amount to add
+     * @return the new quantity and the row's minimum stock, or {@code null} if no matching row exists
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE inventory
+               SET quantity = quantity + :amount, last_updated = now()
+             WHERE warehouse_id = :warehouseId
+               AND product_id = :productId
+            RETURNING quantity, minimum_stock
+            """, nativeQuery = true)
+    StockLevel incrementQuantity(@Param("warehouseId") Long warehouseId,
+                                 @Param("productId") Long productId,
+                                 @Param("amount") int amount);
+
+    /**
+     * Atomically sets the storage location and minimum stock of one inventory row, leaving
+     * its quantity alone. The row is locked while its previous minimum is read, so the
+     * returned minimum before and after belong to this update.
+     *
+     * @param inventoryId       the inventory ID
+     * @param warehouseLocation new storage location
+     * @param minimumStock      new minimum stock
+     * @return the row's keys, quantity and minimum before and after, or {@code null} if no
+     *         such row exists
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE inventory i
+               SET warehouse_location = :warehouseLocation, minimum_stock = :minimumStock, last_updated = now()
+              FROM (SELECT inventory_id, minimum_stock
+                      FROM inventory
+                     WHERE inventory_id = :inventoryId
+                       FOR UPDATE) previous
+             WHERE i.inventory_id = previous.inventory_id
+            RETURNING i.warehouse_id, i.product_id, i.quantity, i.minimum_stock, previous.minimum_stock AS previous_minimum_stock
+            """, nativeQuery = true)
+    MinimumStockChange updateLocationAndMinimumStock(@Param("inventoryId") Long inventoryId,
+                                                     @Param("warehouseLocation") int warehouseLocation,
+                                                     @Param("minimumStock") int minimumStock);
+
+    /**
+     * Creates an empty inventory row for a product in the target warehouse if none exists,
+     * copying minimum stock and location from the source warehouse's row.
+     * Concurrent callers are safe: a duplicate insert is silently skipped.
      *
-     * @return list of low-stock inventory entries
+     * @param sourceWarehouseId warehouse whose row provides the defaults
+     * @param targetWarehouseId warehouse that should hold the product
+     * @param productId         the product ID
+     * @return number of rows inserted (0 or 1)
      */
-    @Query("SELECT i FROM Inventory i WHERE i.quantity < i.minimumStock")
-    List<Inventory> findByQuantityLessThanMinimumStock();
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO inventory (warehouse_id, product_id, quantity, minimum_stock, warehouse_location, last_updated)
+            SELECT :targetWarehouseId, product_id, 0, minimum_stock, warehouse_location, now()
+              FROM inventory
+             WHERE warehouse_id = :sourceWarehouseId
+               AND product_id = :productId
+            ON CONFLICT (warehouse_id, product_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertEmptyIfAbsent(@Param("sourceWarehouseId") Long sourceWarehouseId,
+                            @Param("targetWarehouseId") Long targetWarehouseId,
+                            @Param("productId") Long productId);
+
+    /**
+     * Creates an empty inventory row for a warehouse/product pair if none exists, with
+     * no minimum stock and location 0. Concurrent callers are safe: a duplicate insert
+     * waits for the first one to commit and is then silently skipped.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @return number of rows inserted (0 or 1)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO inventory (warehouse_id, product_id, quantity, minimum_stock, warehouse_location, last_updated)
+            VALUES (:warehouseId, :productId, 0, 0, 0, now())
+            ON CONFLICT (warehouse_id, product_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertEmptyIfAbsent(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId);
+
+    /**
+     * Row-locks the inventory rows of one product in the given warehouses.
+     * Rows are locked in ascending warehouse ID order, so two transactions touching
+     * the same pair of rows always acquire their locks in the same order and cannot deadlock.
+     *
+     * @param productId    the product ID
+     * @param warehouseIds warehouses whose rows should be locked
+     * @return the warehouse IDs whose rows were locked, in lock order
+     */
+    @Transactional
+    @Query(value = """
+            SELECT warehouse_id
+              FROM inventory
+             WHERE product_id = :productId
+               AND warehouse_id IN (:warehouseIds)
+             ORDER BY warehouse_id
+               FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockForTransfer(@Param("productId") Long productId,
+                               @Param("warehouseIds") List<Long> warehouseIds);
+
+    /**
+     * Counts inventory entries below their minimum stock level using the
+     * partial index {@code idx_inventory_below_minimum}.
+     *
+     * @return number of low-stock inventory entries
+     */
+    @Query("SELECT COUNT(i) FROM Inventory i WHERE i.quantity < i.minimumStock")
+    long countByQuantityLessThanMinimumStock();
+
+    /**
+     * Sums units and valuation per product category in a single GROUP BY,
+     * highest valuation first.
+     *
+     * @return one row per category that has inventory
+     */
+    @Query("SELECT new com.skillstorm.project1.dtos.CategoryValuation(p.category, SUM(i.quantity), SUM(i.quantity * p.price)) " +
+           "FROM Inventory i JOIN i.product p " +
+           "GROUP BY p.category " +
+           "ORDER BY SUM(i.quantity * p.price) DESC")
+    List<CategoryValuation> findCategoryValuations();
+
+    /**
+     * Returns the quantity of each requested product in every warehouse, including
+     * warehouses that do not stock it. Each warehouse/product pair is resolved with a
+     * probe on the (warehouse_id, product_id) unique index.
+     *
+     * @param productIds products to look up
+     * @return one row per product and warehouse, ordered by product then warehouse name
+     */
+    @Query("SELECT new com.skillstorm.project1.dtos.WarehouseStock(p.productId, w.warehouseId, w.name, i.quantity, w.capacity) " +
+           "FROM Product p CROSS JOIN Warehouse w " +
+           "LEFT JOIN Inventory i ON i.product = p AND i.warehouse = w " +
+           "WHERE p.productId IN :productIds " +
+           "ORDER BY p.productId, w.name")
+    List<WarehouseStock> findStockMatrix(@Param("productIds") Collection<Long> productIds);
 
     /**
      * Finds an inventory row that matches both a Warehouse and a Product.
@@ -65,4 +330,22 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
      */
     Inventory findByWarehouseAndProduct(Warehouse warehouse, Product product);
 
+    /**
+     * Aggregates inventory per warehouse in a single GROUP BY query.
+     * Warehouses without any inventory are included with zero totals.
+     *
+     * @return one {@link WarehouseTotals} row per warehouse, ordered by warehouse name
+     */
+    @Query("""
+            SELECT new com.skillstorm.project1.dtos.WarehouseTotals(
+                w.warehouseId, w.name, w.location, w.capacity,
+                SUM(i.quantity), COUNT(i.inventoryId), SUM(i.quantity * p.price))
+            FROM Warehouse w
+            LEFT JOIN Inventory i ON i.warehouse = w
+            LEFT JOIN i.product p
+            GROUP BY w.warehouseId, w.name, w.location, w.capacity
+            ORDER BY w.name ASC
+            """)
+    List<WarehouseTotals> findWarehouseTotals();
+
 }
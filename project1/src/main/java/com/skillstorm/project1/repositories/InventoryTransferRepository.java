@@ -0,0 +1,23 @@
+package com.skillstorm.project1.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.project1.models.InventoryTransfer;
+
+@Repository
+public interface InventoryTransferRepository extends JpaRepository<InventoryTransfer, Long> {
+
+    /**
+     * Retrieves all transfers of a product, most recent first, with the product
+     * and both warehouses fetched in the same query.
+     *
+     * @param productId the product ID
+     * @return list of transfers for the product
+     */
+    @EntityGraph(attributePaths = {"product", "sourceWarehouse", "targetWarehouse"})
+    List<InventoryTransfer> findAllByProduct_ProductIdOrderByTransferDateDesc(Long productId);
+}
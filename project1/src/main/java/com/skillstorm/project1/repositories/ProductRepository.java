@@ -1,10 +1,15 @@
 package com.skillstorm.project1.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.project1.dtos.ProductView;
 import com.skillstorm.project1.models.Product;
 
 @Repository
@@ -18,12 +23,38 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Product findByProductName(String productName);
 
+    /** Shared SELECT for {@link ProductView} projections; callers append WHERE/ORDER BY. */
+    String PRODUCT_VIEW = "SELECT new com.skillstorm.project1.dtos.ProductView(" +
+            "p.productId, p.productName, p.price, p.category, s.supplierId, s.name, s.contactEmail) " +
+            "FROM Product p LEFT JOIN p.supplier s ";
+
+    /**
+     * Retrieves all products as read models, sorted alphabetically by product name.
+     *
+     * @return products ordered by name
+     */
+    @Query(PRODUCT_VIEW + "ORDER BY p.productName")
+    List<ProductView> findProductViews();
+
+    /**
+     * Retrieves one product as a read model.
+     *
+     * @param productId the product ID
+     * @return the product, if present
+     */
+    @Query(PRODUCT_VIEW + "WHERE p.productId = :productId")
+    Optional<ProductView> findProductViewById(@Param("productId") Long productId);
+
     /**
-     * Retrieves all products sorted alphabetically by product name.
+     * Returns the product with the given ID, with its supplier fetched in the same query.
+     * Used by write paths whose responses serialize the product entity.
      *
-     * @return a list of {@link Product} entities sorted by name (ascending)
+     * @param productId the product ID
+     * @return the product, if present
      */
-    List<Product> findAllByOrderByProductNameAsc();
+    @Override
+    @EntityGraph(attributePaths = {"supplier"})
+    Optional<Product> findById(Long productId);
 
     /**
      * Checks whether a product exists with the given name.
@@ -3,18 +3,38 @@ package com.skillstorm.project1.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.project1.dtos.RestockOrderView;
 import com.skillstorm.project1.models.RestockOrder;
 
 @Repository
 public interface RestockOrderRepository extends JpaRepository<RestockOrder, Long> {
 
+    /** Shared SELECT for {@link RestockOrderView} projections; callers append WHERE/ORDER BY. */
+    String RESTOCK_VIEW = "SELECT new com.skillstorm.project1.dtos.RestockOrderView(" +
+            "r.restockId, r.restockRef, r.amount, r.restockDate, r.orderedBy, " +
+            "w.warehouseId, w.name, w.location, w.capacity, " +
+            "p.productId, p.productName, p.price, p.category, " +
+            "s.supplierId, s.name, s.contactEmail) " +
+            "FROM RestockOrder r JOIN r.warehouse w JOIN r.product p LEFT JOIN r.supplier s ";
+
+    /**
+     * Retrieves all restock orders as read models, oldest first.
+     *
+     * @return all restock orders
+     */
+    @Query(RESTOCK_VIEW + "ORDER BY r.restockId")
+    List<RestockOrderView> findRestockOrderViews();
+
     /**
-     * Retrieves all restock orders for a specific warehouse.
+     * Retrieves all restock orders for a specific warehouse as read models, oldest first.
      *
      * @param warehouseId the warehouse ID to filter by
      * @return list of restock orders assigned to the warehouse
      */
-    List<RestockOrder> findAllByWarehouse_WarehouseId(Long warehouseId);
+    @Query(RESTOCK_VIEW + "WHERE w.warehouseId = :warehouseId ORDER BY r.restockId")
+    List<RestockOrderView> findRestockOrderViewsByWarehouse(@Param("warehouseId") Long warehouseId);
 }
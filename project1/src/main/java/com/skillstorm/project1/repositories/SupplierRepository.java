@@ -1,8 +1,14 @@
 package com.skillstorm.project1.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.project1.dtos.SupplierView;
 import com.skillstorm.project1.models.Supplier;
 
 @Repository
@@ -15,4 +21,23 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
      * @return true if a supplier with the given name exists, false otherwise
      */
     boolean existsByName(String name);
+
+    /**
+     * Retrieves all suppliers as read models, in insertion order.
+     *
+     * @return all suppliers
+     */
+    @Query("SELECT new com.skillstorm.project1.dtos.SupplierView(s.supplierId, s.name, s.contactEmail, s.phone, s.address) " +
+           "FROM Supplier s ORDER BY s.supplierId")
+    List<SupplierView> findSupplierViews();
+
+    /**
+     * Retrieves one supplier as a read model.
+     *
+     * @param supplierId the supplier ID
+     * @return the supplier, if present
+     */
+    @Query("SELECT new com.skillstorm.project1.dtos.SupplierView(s.supplierId, s.name, s.contactEmail, s.phone, s.address) " +
+           "FROM Supplier s WHERE s.supplierId = :supplierId")
+    Optional<SupplierView> findSupplierViewById(@Param("supplierId") Long supplierId);
 }
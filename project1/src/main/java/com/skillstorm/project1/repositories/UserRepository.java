@@ -1,10 +1,13 @@
 package com.skillstorm.project1.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.project1.dtos.UserView;
 import com.skillstorm.project1.models.User;
 
 @Repository
@@ -19,4 +22,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Retrieves all users as read models, without password hashes.
+     *
+     * @return all users in insertion order
+     */
+    @Query("SELECT new com.skillstorm.project1.dtos.UserView(u.userId, u.firstName, u.lastName, u.email, u.jobTitle) " +
+           "FROM User u ORDER BY u.userId")
+    List<UserView> findUserViews();
 }
@@ -1,10 +1,14 @@
 package com.skillstorm.project1.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.project1.dtos.WarehouseView;
 import com.skillstorm.project1.models.Warehouse;
 
 @Repository
@@ -16,4 +20,14 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long>{
      * @return a list of {@link Warehouse} objects ordered by name ascending
      */
     List<Warehouse> findAllByOrderByNameAsc();
+
+    /**
+     * Retrieves one warehouse as a read model, without its inventory.
+     *
+     * @param warehouseId the warehouse ID
+     * @return the warehouse, if present
+     */
+    @Query("SELECT new com.skillstorm.project1.dtos.WarehouseView(w.warehouseId, w.name, w.location, w.capacity) " +
+           "FROM Warehouse w WHERE w.warehouseId = :warehouseId")
+    Optional<WarehouseView> findWarehouseViewById(@Param("warehouseId") Long warehouseId);
 }
@@ -1,24 +1,51 @@
 package com.skillstorm.project1.services;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.project1.config.MetricsConfig;
+import com.skillstorm.project1.dtos.CheckoutFilter;
+import com.skillstorm.project1.dtos.CheckoutPage;
+import com.skillstorm.project1.dtos.CheckoutReceipt;
+import com.skillstorm.project1.dtos.CheckoutRow;
+import com.skillstorm.project1.dtos.InventoryEvent;
+import com.skillstorm.project1.dtos.StockLevel;
 import com.skillstorm.project1.models.Checkout;
 import com.skillstorm.project1.models.Product;
 import com.skillstorm.project1.models.Warehouse;
 import com.skillstorm.project1.repositories.CheckoutRepository;
+import com.skillstorm.project1.repositories.InventoryRepository;
 import com.skillstorm.project1.repositories.ProductRepository;
 import com.skillstorm.project1.repositories.WarehouseRepository;
+import com.skillstorm.project1.services.DataVersionService.Table;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.Predicate;
 
 @Service
 public class CheckoutService {
 
+    /** Largest page size a client may request. */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** History order: newest first, with the ID as a unique tie-breaker. */
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "checkoutDate", "checkoutId");
+
     private final CheckoutRepository checkoutRepository;
     private final WarehouseRepository warehouseRepository;
     private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final DataVersionService dataVersionService;
+    private final InventoryEventPublisher inventoryEvents;
 
     /**
      * Constructs a new {@code CheckoutService} with the required repositories.
@@ -26,51 +53,164 @@ public class CheckoutService {
      * @param checkoutRepository  repository for {@link Checkout} data access
      * @param warehouseRepository repository for {@link Warehouse} data access
      * @param productRepository   repository for {@link Product} data access
+     * @param inventoryRepository repository used to decrement stock
+     * @param dataVersionService  tracks table versions for ETags
+     * @param inventoryEvents     announces stock changes to live dashboards
      */
-    public CheckoutService(CheckoutRepository checkoutRepository, WarehouseRepository warehouseRepository, ProductRepository productRepository) {
+    public CheckoutService(CheckoutRepository checkoutRepository, WarehouseRepository warehouseRepository,
+                           ProductRepository productRepository, InventoryRepository inventoryRepository,
+                           DataVersionService dataVersionService, InventoryEventPublisher inventoryEvents) {
         this.checkoutRepository = checkoutRepository;
         this.warehouseRepository = warehouseRepository;
         this.productRepository = productRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.dataVersionService = dataVersionService;
+        this.inventoryEvents = inventoryEvents;
     }
 
     /**
      * Retrieves all checkout records ordered by checkout date (descending).
      *
-     * @return a list of {@link Checkout} entries sorted by most recent first
+     * @return a list of {@link CheckoutRow} entries sorted by most recent first
      */
-    public List<Checkout> findAllCheckouts() {
-        return checkoutRepository.findAllByOrderByCheckoutDateDesc();
+    @Transactional(readOnly = true)
+    public List<CheckoutRow> findAllCheckouts() {
+        return checkoutRepository.findCheckoutRows();
     }
     
     /**
-     * Creates a new checkout record for a given warehouse, product, and amount.
+     * Retrieves one page of the checkout history using keyset (seek) pagination.
+     * <p>
+     * Pages are ordered by checkout date and ID, newest first. Instead of an offset, the
+     * next page starts strictly after the (date, ID) of the last row returned, which the
+     * composite indexes on {@link Checkout} can seek to directly. Every page therefore
+     * costs the same, however deep into the history it is.
+     * </p>
+     *
+     * @param filter optional warehouse, product, user and date filters
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   number of rows per page, capped at {@link #MAX_PAGE_SIZE}
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed or the size is not positive
+     */
+    @Transactional(readOnly = true)
+    public CheckoutPage findCheckoutPage(CheckoutFilter filter, String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        Specification<Checkout> spec = historySpecification(filter, cursor);
+
+        List<CheckoutRow> rows = checkoutRepository.findCheckoutRows(spec, HISTORY_ORDER, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<CheckoutRow> items = hasMore ? rows.subList(0, limit) : rows;
+        if (!hasMore) {
+            return new CheckoutPage(items, null);
+        }
+
+        CheckoutRow last = items.get(limit - 1);
+        return new CheckoutPage(items, encodeCursor(last.checkoutDate(), last.checkoutId()));
+    }
+
+    /**
+     * Builds the WHERE clause for a history page: the filters plus the keyset condition
+     * {@code (checkoutDate, checkoutId) < (cursorDate, cursorId)}.
+     *
+     * @param filter optional filters
+     * @param cursor optional cursor
+     * @return the specification
+     */
+    private Specification<Checkout> historySpecification(CheckoutFilter filter, String cursor) {
+        Object[] position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.warehouseId() != null) {
+                predicates.add(cb.equal(root.get("warehouse").get("warehouseId"), filter.warehouseId()));
+            }
+            if (filter.productId() != null) {
+                predicates.add(cb.equal(root.get("product").get("productId"), filter.productId()));
+            }
+            if (filter.userEmail() != null && !filter.userEmail().isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("userEmail")), filter.userEmail().trim().toLowerCase()));
+            }
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("checkoutDate"), filter.from().atStartOfDay()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(root.get("checkoutDate"), filter.to().plusDays(1).atStartOfDay()));
+            }
+            if (position != null) {
+                LocalDateTime date = (LocalDateTime) position[0];
+                Long id = (Long) position[1];
+                // The plain bound lets the index seek; the OR only breaks ties on the same timestamp
+                predicates.add(cb.lessThanOrEqualTo(root.get("checkoutDate"), date));
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("checkoutDate"), date),
+                        cb.and(cb.equal(root.get("checkoutDate"), date), cb.lessThan(root.get("checkoutId"), id))));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private String encodeCursor(LocalDateTime date, Long id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf('|');
+            return new Object[] { LocalDateTime.parse(raw.substring(0, split)), Long.valueOf(raw.substring(split + 1)) };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Creates a new checkout record and removes the checked-out stock from the warehouse.
      * <p>
-     * This method is transactional to ensure that all operations succeed
-     * together or roll back on failure.
+     * Stock is decremented with a single guarded UPDATE that only succeeds when enough
+     * units are on hand, and the checkout row is written in the same transaction.
+     * Concurrent checkouts on the same product therefore serialize on the inventory row
+     * and can never oversell.
      * </p>
      *
      * @param warehouseId the ID of the warehouse where the checkout occurs
      * @param productId   the ID of the product being checked out
      * @param amount      quantity of the product being removed
      * @param userEmail   email of the user performing the checkout
-     * @return the saved {@link Checkout} entity
-     * @throws RuntimeException if the referenced warehouse or product is not found
+     * @return a {@link CheckoutReceipt} describing the saved checkout and the remaining stock
+     * @throws IllegalArgumentException if the amount is not positive or the product is not stocked in the warehouse
+     * @throws IllegalStateException    if the warehouse does not hold enough stock
      */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
     @Transactional
-    public Checkout createCheckout(Long warehouseId, Long productId, int amount, String userEmail) {
+    public CheckoutReceipt createCheckout(Long warehouseId, Long productId, int amount, String userEmail) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Checkout amount must be positive");
+        }
 
-        Warehouse warehouse = warehouseRepository.findById(warehouseId)
-            .orElseThrow(() -> new RuntimeException("Warehouse not found"));
+        StockLevel remaining = inventoryRepository.decrementQuantity(warehouseId, productId, amount);
+        if (remaining == null) {
+            if (!inventoryRepository.existsByWarehouse_WarehouseIdAndProduct_ProductId(warehouseId, productId)) {
+                throw new IllegalArgumentException("Inventory record not found for the given warehouse and product IDs.");
+            }
+            throw new IllegalStateException("INSUFFICIENT_STOCK");
+        }
 
-        Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found"));
+        // The inventory row references both, so references are enough for the foreign keys
+        Warehouse warehouse = warehouseRepository.getReferenceById(warehouseId);
+        Product product = productRepository.getReferenceById(productId);
 
-        Checkout checkout = new Checkout();
-        checkout.setWarehouse(warehouse);
-        checkout.setProduct(product);
-        checkout.setAmount(amount);
-        checkout.setUserEmail(userEmail);
+        Checkout checkout = new Checkout(warehouse, product, amount, userEmail);
+        checkout = checkoutRepository.save(checkout);
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.stockChanged(InventoryEvent.Type.CHECKOUT, warehouseId, productId, -amount, remaining,
+                checkout.getCheckoutId());
 
-        return checkoutRepository.save(checkout);
+        return CheckoutReceipt.of(checkout, warehouseId, productId, remaining.quantity());
     }
 }
@@ -0,0 +1,81 @@
+package com.skillstorm.project1.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.skillstorm.project1.dtos.CacheStatistics;
+import com.skillstorm.project1.dtos.CategoryValuation;
+import com.skillstorm.project1.dtos.DashboardKpis;
+import com.skillstorm.project1.repositories.InventoryRepository;
+
+@Service
+public class DashboardService {
+
+    /**
+     * Cache holding the computed KPIs. Every service method that changes inventory
+     * quantities, minimum stock or product prices evicts it.
+     */
+    public static final String KPI_CACHE = "dashboardKpis";
+
+    private final InventoryRepository inventoryRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor-based injection for InventoryRepository and the CacheManager.
+     *
+     * @param inventoryRepository repository used for the aggregate queries
+     * @param cacheManager        cache manager whose statistics are reported
+     */
+    public DashboardService(InventoryRepository inventoryRepository, CacheManager cacheManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Computes the dashboard KPIs with two aggregate queries: the low-stock count
+     * and the per-category valuation, whose rows are summed for the overall totals.
+     * The result is cached until the next inventory write.
+     *
+     * @return the current dashboard KPIs
+     */
+    @Cacheable(KPI_CACHE)
+    @Transactional(readOnly = true)
+    public DashboardKpis getKpis() {
+        List<CategoryValuation> categories = inventoryRepository.findCategoryValuations();
+
+        long totalUnits = 0;
+        double totalValue = 0;
+        for (CategoryValuation category : categories) {
+            totalUnits += category.units();
+            totalValue += category.value();
+        }
+
+        return new DashboardKpis(inventoryRepository.countByQuantityLessThanMinimumStock(),
+                totalUnits, totalValue, categories, LocalDateTime.now());
+    }
+
+    /**
+     * Reports hit, miss and eviction counters for every Caffeine-backed cache.
+     *
+     * @return statistics for each cache
+     */
+    public List<CacheStatistics> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                statistics.add(new CacheStatistics(name, cache.getNativeCache().estimatedSize(),
+                        stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,184 @@
+package com.skillstorm.project1.services;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps an in-memory modification counter per table and derives HTTP entity tags from them.
+ * <p>
+ * Every service method that writes one of the tracked tables calls {@link #touch(Table...)}.
+ * Inside a transaction the counters are only incremented once it commits, so a tag never
+ * names data a reader cannot see yet, and a rolled-back write does not change any tag.
+ * Tags start with the time this instance started, so they never repeat across restarts.
+ * </p>
+ * <p>
+ * Writes made elsewhere (other instances, COPY loads, the dataset generator, manual SQL)
+ * reach the counters through PostgreSQL: statement triggers on the tracked tables notify
+ * {@value #CHANNEL} with the table name (see {@code schema.sql}), and one dedicated
+ * connection per instance listens for it. Notifications are only delivered on commit,
+ * so a rolled-back write is never heard of. This instance's own writes are heard too and
+ * increment the counter a second time, which costs clients at most one extra full response.
+ * While the listening connection is down nothing is heard; all counters are incremented
+ * whenever it starts listening again. Computing a tag never touches the database.
+ * </p>
+ */
+@Service
+public class DataVersionService implements SmartLifecycle {
+
+    /**
+     * Tables whose versions feed the collection ETags.
+     */
+    public enum Table {
+        PRODUCTS, SUPPLIERS, WAREHOUSES, INVENTORY
+    }
+
+    /** Notification channel of the write triggers; the payload is the table name. */
+    public static final String CHANNEL = "table_changes";
+
+    private static final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+
+    /** Longest wait for notifications before the listener checks whether it should stop. */
+    private static final int POLL_MILLIS = 1000;
+
+    /** Pause before the listener reconnects after losing its connection. */
+    private static final long RECONNECT_MILLIS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * Creates the service.
+     *
+     * @param dataSourceProperties connection settings of the application database, used for
+     *                             the listening connection
+     */
+    public DataVersionService(DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * Records a write to the given tables. If a transaction is active the versions are
+     * incremented after it commits, otherwise immediately.
+     *
+     * @param tables the tables that were modified
+     */
+    public void touch(Table... tables) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(tables);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(tables);
+            }
+        });
+    }
+
+    /**
+     * Builds a strong entity tag from the current versions of the given tables.
+     * Read it before loading the data it describes, so the data is at least as new as the tag.
+     *
+     * @param tables the tables a response is read from
+     * @return a quoted entity tag
+     */
+    public String etag(Table... tables) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (Table table : tables) {
+            etag.append('-').append(versions.get(table.ordinal()));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Starts the thread that listens for writes made elsewhere.
+     */
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "table-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Stops the listening thread, which closes its connection within {@link #POLL_MILLIS}.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    /**
+     * Tells whether the listener has been started and not stopped.
+     *
+     * @return {@code true} while listening
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything written while no one was listening went unheard
+                increment(Table.values());
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            tableChanged(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Table change listener lost its connection; reconnecting in {} ms", RECONNECT_MILLIS, e);
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void tableChanged(String tableName) {
+        for (Table table : Table.values()) {
+            if (table.name().equalsIgnoreCase(tableName)) {
+                increment(table);
+            }
+        }
+    }
+
+    private void increment(Table... tables) {
+        for (Table table : tables) {
+            versions.incrementAndGet(table.ordinal());
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.skillstorm.project1.services;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.project1.repositories.CopyWriter;
+import com.skillstorm.project1.repositories.DatasetLoadRepository;
+
+/**
+ * Fills the database with a synthetic, reproducible dataset and then exits.
+ * <p>
+ * Active only under the {@code generate-data} profile:
+ * </p>
+ * <pre>
+ * java -jar target/project1-1.0.0.jar --spring.profiles.active=generate-data \
+ *      --stocksmart.generate.warehouses=20 --stocksmart.generate.products=50000 \
+ *      --stocksmart.generate.checkouts=5000000 --stocksmart.generate.seed=7
+ * </pre>
+ * <p>
+ * The same seed and sizes always produce the same rows. Demand is skewed the way real
+ * stores are: product popularity follows a Zipf distribution (a few best sellers take most
+ * checkouts and restocks), warehouses follow a flatter one, each warehouse stocks only a
+ * share of the catalogue, and stock levels are mostly low with a long tail of large ones.
+ * Checkout and restock dates increase steadily across the configured window.
+ * </p>
+ * <p>
+ * Rows are streamed in with COPY inside a single transaction, so a failed run leaves the
+ * database as it was. The generator refuses to touch a database that already holds
+ * warehouses, products or orders unless {@code stocksmart.generate.reset=true}, which
+ * truncates those tables first. User accounts are added, never removed; all generated
+ * users share the password {@code password}.
+ * </p>
+ */
+@Service
+@Profile("generate-data")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /** Retries when the sampled product is not stocked in the sampled warehouse. */
+    private static final int PAIR_ATTEMPTS = 8;
+
+    private static final String[] CATEGORIES = {
+            "Electronics", "Grocery", "Household", "Apparel", "Toys", "Garden",
+            "Automotive", "Health", "Office", "Sports", "Pet Supplies", "Hardware" };
+
+    private final DatasetLoadRepository loadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder encoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${stocksmart.generate.seed:42}")
+    private long seed;
+
+    @Value("${stocksmart.generate.warehouses:10}")
+    private int warehouseCount;
+
+    @Value("${stocksmart.generate.products:10000}")
+    private int productCount;
+
+    @Value("${stocksmart.generate.suppliers:50}")
+    private int supplierCount;
+
+    @Value("${stocksmart.generate.users:20}")
+    private int userCount;
+
+    /** Share of (warehouse, product) pairs that have an inventory row. */
+    @Value("${stocksmart.generate.coverage:0.6}")
+    private double coverage;
+
+    /** Zipf exponent for product popularity; warehouses use half of it. */
+    @Value("${stocksmart.generate.skew:1.1}")
+    private double skew;
+
+    @Value("${stocksmart.generate.checkouts:1000000}")
+    private long checkoutCount;
+
+    @Value("${stocksmart.generate.restocks:250000}")
+    private long restockCount;
+
+    @Value("${stocksmart.generate.days:365}")
+    private int days;
+
+    @Value("${stocksmart.generate.end-date:2025-01-01}")
+    private LocalDate endDate;
+
+    @Value("${stocksmart.generate.reset:false}")
+    private boolean reset;
+
+    /**
+     * Creates the generator.
+     *
+     * @param loadRepository     repository that bulk-loads the tables
+     * @param transactionManager transaction manager for the single load transaction
+     * @param encoder            encodes the generated users' password
+     * @param context            application context, closed once the data is loaded
+     */
+    public DatasetGenerator(DatasetLoadRepository loadRepository, PlatformTransactionManager transactionManager,
+                            PasswordEncoder encoder, ConfigurableApplicationContext context) {
+        this.loadRepository = loadRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.encoder = encoder;
+        this.context = context;
+    }
+
+    /**
+     * Generates the dataset, then shuts the application down.
+     *
+     * @param args application arguments (unused; settings come from properties)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        validate();
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                generate();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Dataset load failed: " + e.getMessage(), e);
+            }
+        });
+        log.info("Dataset generated in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        SpringApplication.exit(context, () -> 0);
+    }
+
+    private void validate() {
+        if (warehouseCount < 1 || productCount < 1 || supplierCount < 1 || userCount < 1) {
+            throw new IllegalArgumentException("Warehouse, product, supplier and user counts must be positive");
+        }
+        if (coverage <= 0 || coverage > 1) {
+            throw new IllegalArgumentException("Coverage must be in (0, 1]");
+        }
+        if (skew < 0 || checkoutCount < 0 || restockCount < 0 || days < 1) {
+            throw new IllegalArgumentException("Skew, order counts and days must not be negative");
+        }
+    }
+
+    private void generate() throws SQLException {
+        if (loadRepository.hasData()) {
+            if (!reset) {
+                throw new IllegalStateException(
+                        "Database already holds data; rerun with --stocksmart.generate.reset=true to replace it");
+            }
+            log.info("Truncating existing data");
+            loadRepository.truncate();
+        }
+
+        // One stream per phase, so e.g. changing the checkout count leaves the restock rows unchanged
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom productRandom = root.split();
+        SplittableRandom inventoryRandom = root.split();
+        SplittableRandom checkoutRandom = root.split();
+        SplittableRandom restockRandom = root.split();
+
+        List<String> emails = new ArrayList<>(userCount);
+        for (int i = 1; i <= userCount; i++) {
+            emails.add("user" + i + "@stocksmart.test");
+        }
+        loadRepository.insertUsers(emails, encoder.encode("password"));
+
+        long[] supplierIds = loadSuppliers();
+        long[] warehouseIds = loadWarehouses();
+        int[] productSupplier = new int[productCount];
+        long[] productIds = loadProducts(productRandom, supplierIds, productSupplier);
+        int[] stockTotals = loadInventory(inventoryRandom, warehouseIds, productIds);
+
+        int[] capacities = new int[warehouseCount];
+        for (int w = 0; w < warehouseCount; w++) {
+            capacities[w] = (int) Math.min(Integer.MAX_VALUE, Math.max(1000L, stockTotals[w] * 5L / 4));
+        }
+        loadRepository.updateCapacities(warehouseIds, capacities);
+
+        // Popularity ranks are shuffled onto products so best sellers are spread over the ID range
+        int[] productByRank = permutation(productCount, productRandom);
+        int[] warehouseByRank = permutation(warehouseCount, productRandom);
+        Zipf products = new Zipf(productCount, skew);
+        Zipf warehouses = new Zipf(warehouseCount, skew / 2);
+
+        loadCheckouts(checkoutRandom, products, warehouses, productByRank, warehouseByRank,
+                warehouseIds, productIds, emails);
+        loadRestocks(restockRandom, products, warehouses, productByRank, warehouseByRank,
+                warehouseIds, productIds, productSupplier, supplierIds, emails);
+
+        log.info("Analyzing tables");
+        loadRepository.analyze();
+    }
+
+    private long[] loadSuppliers() throws SQLException {
+        try (CopyWriter copy = loadRepository.copy("suppliers", "name", "contact_email", "phone", "address")) {
+            for (int i = 1; i <= supplierCount; i++) {
+                copy.field("Supplier " + i)
+                        .field("orders@supplier" + i + ".test")
+                        .field(String.format("555-%04d", i % 10_000))
+                        .field(i + " Industrial Way");
+                copy.endRow();
+            }
+            log.info("Loaded {} suppliers", copy.finish());
+        }
+        return loadRepository.findIds("suppliers", "supplier_id");
+    }
+
+    private long[] loadWarehouses() throws SQLException {
+        try (CopyWriter copy = loadRepository.copy("warehouses", "name", "location", "capacity")) {
+            for (int i = 1; i <= warehouseCount; i++) {
+                copy.field("Warehouse " + i).field("Region " + (1 + (i - 1) % 8)).field(0);
+                copy.endRow();
+            }
+            log.info("Loaded {} warehouses", copy.finish());
+        }
+        return loadRepository.findIds("warehouses", "warehouse_id");
+    }
+
+    private long[] loadProducts(SplittableRandom random, long[] supplierIds, int[] productSupplier)
+            throws SQLException {
+        try (CopyWriter copy = loadRepository.copy("products", "product_name", "price", "category", "supplier_id")) {
+            for (int p = 0; p < productCount; p++) {
+                productSupplier[p] = random.nextInt(supplierCount);
+                // Prices cluster at the low end, with a few expensive items
+                double price = Math.round((1 + 499 * Math.pow(random.nextDouble(), 3)) * 100) / 100.0;
+                copy.field("Product " + (p + 1))
+                        .field(price)
+                        .field(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                        .field(supplierIds[productSupplier[p]]);
+                copy.endRow();
+            }
+            log.info("Loaded {} products", copy.finish());
+        }
+        return loadRepository.findIds("products", "product_id");
+    }
+
+    /**
+     * Loads inventory rows and returns the total quantity held by each warehouse.
+     */
+    private int[] loadInventory(SplittableRandom random, long[] warehouseIds, long[] productIds) throws SQLException {
+        int[] totals = new int[warehouseCount];
+        LocalDateTime lastUpdated = endDate.atStartOfDay();
+        try (CopyWriter copy = loadRepository.copy("inventory", "warehouse_id", "product_id", "quantity",
+                "minimum_stock", "warehouse_location", "last_updated")) {
+            for (int w = 0; w < warehouseCount; w++) {
+                for (int p = 0; p < productCount; p++) {
+                    if (!isStocked(w, p)) {
+                        continue;
+                    }
+                    double u = random.nextDouble();
+                    int quantity = (int) Math.round(2000 * u * u);
+                    totals[w] += quantity;
+                    copy.field(warehouseIds[w])
+                            .field(productIds[p])
+                            .field(quantity)
+                            .field(5 + random.nextInt(46))
+                            .field(1 + random.nextInt(40))
+                            .field(lastUpdated);
+                    copy.endRow();
+                }
+            }
+            log.info("Loaded {} inventory rows", copy.finish());
+        }
+        return totals;
+    }
+
+    private void loadCheckouts(SplittableRandom random, Zipf products, Zipf warehouses, int[] productByRank,
+                               int[] warehouseByRank, long[] warehouseIds, long[] productIds,
+                               List<String> emails) throws SQLException {
+        LocalDateTime start = endDate.atStartOfDay().minusDays(days);
+        long windowSeconds = ChronoUnit.SECONDS.between(start, endDate.atStartOfDay());
+        try (CopyWriter copy = loadRepository.copy("checkouts", "warehouse_id", "product_id", "amount",
+                "user_email", "checkout_date")) {
+            for (long i = 0; i < checkoutCount; i++) {
+                int[] pair = samplePair(random, products, warehouses, productByRank, warehouseByRank);
+                copy.field(warehouseIds[pair[0]])
+                        .field(productIds[pair[1]])
+                        .field(1 + random.nextInt(5))
+                        .field(emails.get(random.nextInt(emails.size())))
+                        .field(start.plusSeconds(i * windowSeconds / checkoutCount));
+                copy.endRow();
+            }
+            log.info("Loaded {} checkouts", copy.finish());
+        }
+    }
+
+    private void loadRestocks(SplittableRandom random, Zipf products, Zipf warehouses, int[] productByRank,
+                              int[] warehouseByRank, long[] warehouseIds, long[] productIds, int[] productSupplier,
+                              long[] supplierIds, List<String> emails) throws SQLException {
+        LocalDateTime start = endDate.atStartOfDay().minusDays(days);
+        long windowSeconds = ChronoUnit.SECONDS.between(start, endDate.atStartOfDay());
+        try (CopyWriter copy = loadRepository.copy("restock_orders", "warehouse_id", "product_id", "supplier_id",
+                "amount", "ordered_by", "restock_date", "restock_ref")) {
+            for (long i = 0; i < restockCount; i++) {
+                int[] pair = samplePair(random, products, warehouses, productByRank, warehouseByRank);
+                copy.field(warehouseIds[pair[0]])
+                        .field(productIds[pair[1]])
+                        .field(supplierIds[productSupplier[pair[1]]])
+                        .field(50 + random.nextInt(451))
+                        .field(emails.get(random.nextInt(emails.size())))
+                        .field(start.plusSeconds(i * windowSeconds / restockCount))
+                        .field(i + 1);
+                copy.endRow();
+            }
+            log.info("Loaded {} restock orders", copy.finish());
+        }
+    }
+
+    /**
+     * Draws a popular product and a warehouse that stocks it, returned as
+     * {@code {warehouseIndex, productIndex}}. If no stocked pair turns up after a few
+     * attempts the last draw is used, as a product can be ordered into a warehouse that
+     * does not carry it yet.
+     */
+    private int[] samplePair(SplittableRandom random, Zipf products, Zipf warehouses,
+                             int[] productByRank, int[] warehouseByRank) {
+        int p = productByRank[products.sample(random)];
+        int w = 0;
+        for (int attempt = 0; attempt < PAIR_ATTEMPTS; attempt++) {
+            w = warehouseByRank[warehouses.sample(random)];
+            if (isStocked(w, p)) {
+                break;
+            }
+        }
+        return new int[] { w, p };
+    }
+
+    /**
+     * Whether a warehouse carries a product. A hash of the pair rather than a random draw,
+     * so the order phases can ask without storing the whole warehouse-by-product grid.
+     */
+    private boolean isStocked(int warehouse, int product) {
+        long h = mix(seed ^ mix(((long) warehouse << 32) | product));
+        return (h >>> 11) * 0x1.0p-53 < coverage;
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int[] permutation(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        Arrays.setAll(order, i -> i);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Zipf sampler over ranks {@code 0..n-1}: rank {@code k} is drawn with probability
+     * proportional to {@code 1 / (k + 1)^exponent}. Uses a precomputed cumulative table
+     * and a binary search per draw.
+     */
+    static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.skillstorm.project1.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.project1.dtos.InventoryEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans {@link InventoryEvent}s out to dashboards subscribed over server-sent events.
+ * <p>
+ * Each event is serialized once and offered to a bounded queue per subscriber, so the
+ * committing thread never blocks on a client. The queues are drained on Spring's
+ * application task executor, so sends run on virtual threads when
+ * {@code spring.threads.virtual.enabled} is set. A subscriber whose queue fills up is
+ * too slow to keep up and is disconnected; its browser reconnects and reloads. Idle
+ * streams receive a comment line every {@link #HEARTBEAT_SECONDS} seconds so proxies
+ * keep them open and dead clients are noticed.
+ * </p>
+ */
+@Service
+public class InventoryEventBroadcaster {
+
+    /** Events a subscriber may fall behind by before it is disconnected. */
+    public static final int QUEUE_CAPACITY = 256;
+
+    /** How long one stream stays open before the browser is asked to reconnect. */
+    public static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    /** Seconds between keep-alive comments. */
+    public static final long HEARTBEAT_SECONDS = 20;
+
+    private static final long RECONNECT_MILLIS = 3000;
+
+    private final ObjectMapper objectMapper;
+    private final Executor senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Creates the broadcaster.
+     *
+     * @param objectMapper JSON mapper used to serialize each event once
+     * @param senders      executor that drains subscriber queues
+     */
+    public InventoryEventBroadcaster(ObjectMapper objectMapper,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor senders) {
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+    }
+
+    /**
+     * Opens a new event stream.
+     *
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected").build());
+        return emitter;
+    }
+
+    /**
+     * Broadcasts an event once the transaction that raised it has committed, or right
+     * away when it was raised outside a transaction.
+     *
+     * @param event the event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryEvent(InventoryEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize inventory event", e);
+        }
+        broadcast(SseEmitter.event().id(Long.toString(sequence.incrementAndGet())).data(json).build());
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return the subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sends a keep-alive comment to every open stream.
+     */
+    @Scheduled(fixedRate = HEARTBEAT_SECONDS, initialDelay = HEARTBEAT_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void sendHeartbeat() {
+        broadcast(SseEmitter.event().comment("keep-alive").build());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void broadcast(Set<DataWithMediaType> frame) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * One open stream: a bounded queue of serialized frames drained by at most one
+     * sender task at a time, so frames reach the client in order.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues a frame without blocking; disconnects the subscriber if its queue is full.
+         */
+        private void offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                if (subscribers.remove(this)) {
+                    senders.execute(emitter::complete);
+                }
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while ((frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the stream already completed
+                subscribers.remove(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A frame may have arrived after the last poll but before draining was cleared
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.skillstorm.project1.services;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.skillstorm.project1.dtos.InventoryEvent;
+import com.skillstorm.project1.dtos.InventoryEvent.Type;
+import com.skillstorm.project1.dtos.StockLevel;
+
+/**
+ * Raises {@link InventoryEvent}s from the inventory write paths.
+ * <p>
+ * Events go through Spring's application event bus. {@link InventoryEventBroadcaster}
+ * picks them up after the surrounding transaction commits, so rolled-back writes are
+ * never announced.
+ * </p>
+ */
+@Service
+public class InventoryEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates the publisher.
+     *
+     * @param eventPublisher Spring's application event publisher
+     */
+    public InventoryEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Announces a quantity change on one inventory row, followed by a low-stock
+     * transition event if the change moved the row across its minimum stock.
+     *
+     * @param type        why the quantity changed
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @param delta       change in quantity
+     * @param level       quantity and minimum stock after the change
+     * @param referenceId checkout or restock ID, or {@code null}
+     */
+    public void stockChanged(Type type, Long warehouseId, Long productId, int delta, StockLevel level, Long referenceId) {
+        eventPublisher.publishEvent(new InventoryEvent(type, warehouseId, productId, delta, level.quantity(), referenceId));
+
+        publishTransition(warehouseId, productId, level, level.quantity() - delta < level.minimumStock());
+    }
+
+    /**
+     * Announces a new inventory row with its initial quantity, followed by a low-stock
+     * event if it starts out below its minimum stock. A new row has no previous state
+     * to recover from, so it never raises a cleared event.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @param level       initial quantity and minimum stock
+     */
+    public void rowCreated(Long warehouseId, Long productId, StockLevel level) {
+        eventPublisher.publishEvent(new InventoryEvent(Type.STOCK, warehouseId, productId, level.quantity(), level.quantity(), null));
+
+        publishTransition(warehouseId, productId, level, false);
+    }
+
+    /**
+     * Announces a low-stock transition caused by a change of minimum stock, if there was one.
+     *
+     * @param warehouseId the warehouse ID
+     * @param productId   the product ID
+     * @param level       quantity and the new minimum stock
+     * @param wasBelow    whether the row was below its previous minimum
+     */
+    public void minimumChanged(Long warehouseId, Long productId, StockLevel level, boolean wasBelow) {
+        publishTransition(warehouseId, productId, level, wasBelow);
+    }
+
+    /**
+     * Announces that many rows changed at once and listeners should reload.
+     */
+    public void reload() {
+        eventPublisher.publishEvent(new InventoryEvent(Type.RELOAD, null, null, null, null, null));
+    }
+
+    private void publishTransition(Long warehouseId, Long productId, StockLevel level, boolean wasBelow) {
+        if (wasBelow != level.belowMinimum()) {
+            Type transition = level.belowMinimum() ? Type.LOW_STOCK : Type.LOW_STOCK_CLEARED;
+            eventPublisher.publishEvent(new InventoryEvent(transition, warehouseId, productId, null, level.quantity(), null));
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.skillstorm.project1.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.skillstorm.project1.dtos.ImportResult;
+import com.skillstorm.project1.repositories.CopyWriter;
+import com.skillstorm.project1.repositories.InventoryImportRepository;
+import com.skillstorm.project1.repositories.InventoryImportRepository.UpsertCounts;
+import com.skillstorm.project1.services.DataVersionService.Table;
+
+@Service
+public class InventoryImportService {
+
+    /** Supported upload formats. */
+    public enum Format { CSV, NDJSON }
+
+    /** Maximum number of reject reasons returned to the caller. */
+    private static final int REJECT_SAMPLE_LIMIT = 100;
+
+    /**
+     * Rows an import must write before planner statistics are refreshed. Smaller imports
+     * are left to autovacuum's analyze, which already tracks the rows they changed.
+     */
+    static final long ANALYZE_THRESHOLD = 10_000;
+
+    /** CSV reader: each row is read as an array of strings; blank lines are skipped. */
+    private static final CsvMapper CSV = CsvMapper.builder()
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES, CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    /** Column order assumed for CSV files without a header row. */
+    private static final List<String> DEFAULT_COLUMNS =
+            List.of("warehouseid", "productid", "quantity", "minimumstock", "warehouselocation");
+
+    private final InventoryImportRepository importRepository;
+    private final ObjectMapper objectMapper;
+    private final DataVersionService dataVersionService;
+    private final InventoryEventPublisher inventoryEvents;
+
+    /**
+     * Creates an instance of the service.
+     *
+     * @param importRepository   repository that stages and merges imported rows
+     * @param objectMapper       JSON mapper used to parse NDJSON lines
+     * @param dataVersionService tracks table versions for ETags
+     * @param inventoryEvents    announces the import to live dashboards
+     */
+    public InventoryImportService(InventoryImportRepository importRepository, ObjectMapper objectMapper,
+                                  DataVersionService dataVersionService, InventoryEventPublisher inventoryEvents) {
+        this.importRepository = importRepository;
+        this.objectMapper = objectMapper;
+        this.dataVersionService = dataVersionService;
+        this.inventoryEvents = inventoryEvents;
+    }
+
+    /**
+     * Imports inventory rows from a CSV or NDJSON stream.
+     * <p>
+     * The stream is parsed row by row and each valid row is copied straight into a
+     * staging table with PostgreSQL COPY, so the upload is never held in memory.
+     * Rows are then upserted into {@code inventory} on (warehouse_id, product_id):
+     * new pairs are inserted and existing pairs have their quantity, minimum stock and
+     * location replaced. Each row needs {@code warehouseId}, {@code productId} and
+     * {@code quantity}; {@code minimumStock} and {@code warehouseLocation} default to 0.
+     * CSV files may start with a header row naming the columns, and fields may be quoted
+     * (RFC 4180), which lets them contain commas, quotes and line breaks. A CSV file
+     * whose quoting is broken is imported up to the broken row and the rest is rejected.
+     * If reading the upload or the COPY fails, nothing is imported.
+     * </p>
+     *
+     * @param input  the uploaded data
+     * @param format format of the data
+     * @return row counts and a sample of rejected rows
+     * @throws IOException  if the upload cannot be read
+     * @throws SQLException if the COPY fails
+     */
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importInventory(InputStream input, Format format) throws IOException, SQLException {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        Tally tally = new Tally();
+
+        importRepository.createStaging();
+        try (CopyWriter writer = importRepository.openStagingWriter()) {
+            if (format == Format.CSV) {
+                stageCsv(reader, writer, tally);
+            } else {
+                stageNdjson(reader, writer, tally);
+            }
+            writer.finish();
+        }
+
+        List<Long> unknownLines = new ArrayList<>();
+        tally.rejected += importRepository.rejectUnknownReferences(REJECT_SAMPLE_LIMIT, unknownLines);
+        for (Long unknownLine : unknownLines) {
+            tally.sample(unknownLine, "unknown warehouse or product");
+        }
+
+        UpsertCounts counts = importRepository.upsertFromStaging();
+        if (counts.inserted() + counts.updated() >= ANALYZE_THRESHOLD) {
+            importRepository.analyzeInventory();
+        }
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.reload();
+        long duplicates = tally.rowsRead - tally.rejected - counts.inserted() - counts.updated();
+
+        return new ImportResult(tally.rowsRead, counts.inserted(), counts.updated(), duplicates, tally.rejected,
+                tally.samples);
+    }
+
+    /**
+     * Parses a CSV upload and stages its valid rows.
+     *
+     * @param reader the upload
+     * @param writer COPY stream into the staging table
+     * @param tally  receives row counts and rejections
+     * @throws IOException  if the upload cannot be read
+     * @throws SQLException if the server rejects the COPY data
+     */
+    private void stageCsv(Reader reader, CopyWriter writer, Tally tally) throws IOException, SQLException {
+        try (JsonParser parser = CSV.getFactory().createParser(reader)) {
+            Map<String, Integer> columns = null;
+            List<String> cells = new ArrayList<>();
+            try {
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    cells.clear();
+                    long lineNo = 0;
+                    while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        if (cells.isEmpty()) {
+                            lineNo = parser.currentTokenLocation().getLineNr();
+                        }
+                        cells.add(parser.getText().trim());
+                    }
+                    if (columns == null) {
+                        columns = csvColumns(cells);
+                        if (!columns.isEmpty()) {
+                            continue;
+                        }
+                        columns = indexOf(DEFAULT_COLUMNS);
+                    }
+
+                    tally.rowsRead++;
+                    try {
+                        stage(writer, lineNo, parseCsv(cells, columns));
+                    } catch (IllegalArgumentException e) {
+                        tally.reject(lineNo, e.getMessage());
+                    }
+                }
+            } catch (JsonParseException e) {
+                tally.rowsRead++;
+                tally.reject(parser.currentLocation().getLineNr(), "malformed CSV (" + e.getOriginalMessage()
+                        + "), rest of the file skipped");
+            }
+        }
+    }
+
+    /**
+     * Parses an NDJSON upload and stages its valid rows.
+     *
+     * @param reader the upload
+     * @param writer COPY stream into the staging table
+     * @param tally  receives row counts and rejections
+     * @throws IOException  if the upload cannot be read
+     * @throws SQLException if the server rejects the COPY data
+     */
+    private void stageNdjson(Reader reader, CopyWriter writer, Tally tally) throws IOException, SQLException {
+        BufferedReader lines = new BufferedReader(reader);
+        long lineNo = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            tally.rowsRead++;
+            try {
+                stage(writer, lineNo, parseJson(line));
+            } catch (IllegalArgumentException e) {
+                tally.reject(lineNo, e.getMessage());
+            }
+        }
+    }
+
+    private void stage(CopyWriter writer, long lineNo, long[] row) throws SQLException {
+        writer.field(lineNo);
+        for (long value : row) {
+            writer.field(value);
+        }
+        writer.endRow();
+    }
+
+    /**
+     * Interprets the first CSV row as a header if it contains column names.
+     *
+     * @param cells cells of the first row
+     * @return column positions by normalized name, or an empty map if the row is data
+     */
+    private Map<String, Integer> csvColumns(List<String> cells) {
+        List<String> names = new ArrayList<>();
+        for (String cell : cells) {
+            String name = cell.replace("_", "").toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || Character.isDigit(name.charAt(0)) || name.charAt(0) == '-') {
+                return Map.of();
+            }
+            names.add(name);
+        }
+        return indexOf(names);
+    }
+
+    private Map<String, Integer> indexOf(List<String> names) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i), i);
+        }
+        return columns;
+    }
+
+    /**
+     * Parses one CSV data row.
+     *
+     * @param cells   cells of the row
+     * @param columns column positions by normalized name
+     * @return warehouseId, productId, quantity, minimumStock, warehouseLocation
+     * @throws IllegalArgumentException if a required value is missing or invalid
+     */
+    private long[] parseCsv(List<String> cells, Map<String, Integer> columns) {
+        return new long[] {
+            requiredLong(cell(cells, columns, "warehouseid"), "warehouseId"),
+            requiredLong(cell(cells, columns, "productid"), "productId"),
+            quantityValue(cell(cells, columns, "quantity"), "quantity", true),
+            quantityValue(cell(cells, columns, "minimumstock"), "minimumStock", false),
+            quantityValue(cell(cells, columns, "warehouselocation"), "warehouseLocation", false)
+        };
+    }
+
+    private String cell(List<String> cells, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= cells.size() ? null : cells.get(index);
+    }
+
+    /**
+     * Parses one NDJSON line.
+     *
+     * @param line the line
+     * @return warehouseId, productId, quantity, minimumStock, warehouseLocation
+     * @throws IllegalArgumentException if the line is not a JSON object or a value is invalid
+     */
+    private long[] parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        return new long[] {
+            requiredLong(text(node, "warehouseId"), "warehouseId"),
+            requiredLong(text(node, "productId"), "productId"),
+            quantityValue(text(node, "quantity"), "quantity", true),
+            quantityValue(text(node, "minimumStock"), "minimumStock", false),
+            quantityValue(text(node, "warehouseLocation"), "warehouseLocation", false)
+        };
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private long requiredLong(String value, String field) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + field + " '" + value + "'");
+        }
+    }
+
+    private int quantityValue(String value, String field, boolean required) {
+        if (value == null || value.isEmpty()) {
+            if (required) {
+                throw new IllegalArgumentException("missing " + field);
+            }
+            return 0;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException(field + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + field + " '" + value + "'");
+        }
+    }
+
+    /**
+     * Row counts and rejection samples of one import.
+     */
+    private static final class Tally {
+
+        private long rowsRead;
+        private long rejected;
+        private final List<String> samples = new ArrayList<>();
+
+        /** Counts a rejected row and keeps its reason if the sample is not full. */
+        private void reject(long lineNo, String reason) {
+            rejected++;
+            sample(lineNo, reason);
+        }
+
+        /** Keeps a rejection reason if the sample is not full. */
+        private void sample(long lineNo, String reason) {
+            if (samples.size() < REJECT_SAMPLE_LIMIT) {
+                samples.add("line " + lineNo + ": " + reason);
+            }
+        }
+    }
+}
@@ -1,35 +1,116 @@
 package com.skillstorm.project1.services;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.project1.config.MetricsConfig;
+import com.skillstorm.project1.dtos.BatchTransferResult;
+import com.skillstorm.project1.dtos.InventoryChanges;
+import com.skillstorm.project1.dtos.InventoryEvent;
+import com.skillstorm.project1.dtos.InventoryView;
+import com.skillstorm.project1.dtos.MinimumStockChange;
+import com.skillstorm.project1.dtos.NewInventory;
+import com.skillstorm.project1.dtos.StockLevel;
+import com.skillstorm.project1.dtos.TransferLine;
+import com.skillstorm.project1.dtos.TransferLineResult;
+import com.skillstorm.project1.dtos.TransferReceipt;
+import com.skillstorm.project1.dtos.WarehouseStock;
 import com.skillstorm.project1.models.Inventory;
-import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.models.InventoryTransfer;
+import com.skillstorm.project1.repositories.InventoryBatchRepository.StockKey;
+import com.skillstorm.project1.repositories.InventoryBatchRepository;
 import com.skillstorm.project1.repositories.InventoryRepository;
+import com.skillstorm.project1.repositories.InventoryTransferRepository;
+import com.skillstorm.project1.repositories.ProductRepository;
+import com.skillstorm.project1.repositories.WarehouseRepository;
+import com.skillstorm.project1.services.DataVersionService.Table;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
 public class InventoryService {
 
+    /** Largest number of products accepted by a single stock matrix request. */
+    public static final int MAX_STOCK_MATRIX_PRODUCTS = 200;
+
+    /** Tables inventory listings are read from; their versions make up the listing ETags. */
+    private static final Table[] LISTING_TABLES = { Table.INVENTORY, Table.PRODUCTS, Table.SUPPLIERS };
+
+    /** Tables the stock matrix is read from. */
+    private static final Table[] STOCK_TABLES = { Table.INVENTORY, Table.WAREHOUSES };
+
     private final InventoryRepository inventoryRepository;
+    private final InventoryTransferRepository transferRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ProductRepository productRepository;
+    private final InventoryBatchRepository batchRepository;
+    private final DataVersionService dataVersionService;
+    private final InventoryEventPublisher inventoryEvents;
 
     /**
-     * Creates an instance of the service with the required repository.
+     * Creates an instance of the service with the required repositories.
      *
      * @param inventoryRepository repository for inventory data access
+     * @param transferRepository  repository for the transfer ledger
+     * @param warehouseRepository repository for warehouse data access
+     * @param productRepository   repository for product data access
+     * @param batchRepository     repository for JDBC-batched inventory writes
+     * @param dataVersionService  tracks table versions for ETags
+     * @param inventoryEvents     announces stock changes to live dashboards
      */
-    public InventoryService(InventoryRepository inventoryRepository) {
+    public InventoryService(InventoryRepository inventoryRepository, InventoryTransferRepository transferRepository,
+                            WarehouseRepository warehouseRepository, ProductRepository productRepository,
+                            InventoryBatchRepository batchRepository, DataVersionService dataVersionService,
+                            InventoryEventPublisher inventoryEvents) {
         this.inventoryRepository = inventoryRepository;
+        this.transferRepository = transferRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.productRepository = productRepository;
+        this.batchRepository = batchRepository;
+        this.dataVersionService = dataVersionService;
+        this.inventoryEvents = inventoryEvents;
+    }
+
+    /**
+     * Returns the ETag shared by the inventory listings without querying the database.
+     * Read it before loading a listing, so the listing is at least as new as the tag.
+     *
+     * @return the quoted entity tag
+     */
+    public String getInventoryEtag() {
+        return dataVersionService.etag(LISTING_TABLES);
+    }
+
+    /**
+     * Returns the ETag of the stock matrix without querying the database.
+     *
+     * @return the quoted entity tag
+     */
+    public String getStockEtag() {
+        return dataVersionService.etag(STOCK_TABLES);
     }
 
     /**
      * Retrieves all inventory records.
      *
-     * @return list of all {@link Inventory} entries
+     * @return list of all inventory entries as read models
      */
-    public List<Inventory> getAllInventory() {
-        return inventoryRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<InventoryView> getAllInventory() {
+        return inventoryRepository.findInventoryViews();
     }
 
     /**
@@ -38,8 +119,9 @@ public class InventoryService {
      * @param id the inventory ID
      * @return an {@link Optional} containing the inventory entry if found
      */
-    public Optional<Inventory> getInventoryById(Long id) {
-        return inventoryRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<InventoryView> getInventoryById(Long id) {
+        return inventoryRepository.findInventoryViewById(id);
     }
 
     /**
@@ -49,8 +131,43 @@ public class InventoryService {
      * @param warehouseId the warehouse ID
      * @return list of inventory entries for the warehouse
      */
-    public List<Inventory> getInventoryByWarehouse(Long warehouseId) {
-        return inventoryRepository.findByWarehouse_WarehouseIdOrderByProduct_ProductNameAsc(warehouseId);
+    @Transactional(readOnly = true)
+    public List<InventoryView> getInventoryByWarehouse(Long warehouseId) {
+        return inventoryRepository.findInventoryViewsByWarehouse(warehouseId);
+    }
+
+    /**
+     * Returns the inventory rows inserted, updated or deleted since a client's last sync.
+     * The horizon is read before the rows, so a transaction that commits in between is
+     * either included now or picked up by the next sync.
+     *
+     * @param since       cursor from the previous sync, or {@code 0} for everything
+     * @param warehouseId limits the changes to one warehouse, or {@code null} for all
+     * @return the changes and the cursor for the next sync
+     * @throws IllegalArgumentException if {@code since} is negative
+     */
+    @Transactional(readOnly = true)
+    public InventoryChanges getChangesSince(long since, Long warehouseId) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        long horizon = inventoryRepository.findChangeHorizon();
+        List<InventoryView> changed = warehouseId == null
+                ? inventoryRepository.findInventoryViewsChangedSince(since)
+                : inventoryRepository.findInventoryViewsChangedSince(since, warehouseId);
+        List<Long> deleted = inventoryRepository.findDeletedInventoryIdsSince(since, warehouseId);
+        return new InventoryChanges(Math.max(horizon, since), changed, deleted);
+    }
+
+    /**
+     * Returns the current delta-sync cursor. Every change committed after this call is
+     * returned by {@link #getChangesSince(long, Long)} when passed this cursor.
+     *
+     * @return the current change horizon
+     */
+    @Transactional(readOnly = true)
+    public long getChangeHorizon() {
+        return inventoryRepository.findChangeHorizon();
     }
 
     /**
@@ -59,8 +176,26 @@ public class InventoryService {
      * @param productId the product ID
      * @return list of inventory entries for the product
      */
-    public List<Inventory> getInventoryByProduct(Long productId) {
-        return inventoryRepository.findByProduct_ProductId(productId);
+    @Transactional(readOnly = true)
+    public List<InventoryView> getInventoryByProduct(Long productId) {
+        return inventoryRepository.findInventoryViewsByProduct(productId);
+    }
+
+    /**
+     * Returns how much of each requested product every warehouse holds.
+     *
+     * @param productIds products to look up (duplicates are ignored)
+     * @return one entry per product and warehouse
+     * @throws IllegalArgumentException if no IDs or more than {@link #MAX_STOCK_MATRIX_PRODUCTS} are given
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseStock> getStockMatrix(Collection<Long> productIds) {
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > MAX_STOCK_MATRIX_PRODUCTS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_STOCK_MATRIX_PRODUCTS + " product IDs are required");
+        }
+        return inventoryRepository.findStockMatrix(ids);
     }
 
     /**
@@ -70,6 +205,7 @@ public class InventoryService {
      * @param productId the product ID
      * @return the matching inventory entry or {@code null} if none exists
      */
+    @Transactional(readOnly = true)
     public Inventory getInventoryByWarehouseAndProduct(Long warehouseId, Long productId) {
         return inventoryRepository.findByWarehouse_WarehouseIdAndProduct_ProductId(warehouseId, productId);
     }
@@ -80,6 +216,7 @@ public class InventoryService {
      * @param warehouseId the warehouse ID
      * @return total stock count
      */
+    @Transactional(readOnly = true)
     public int getTotalStockByWarehouseId(Long warehouseId) {
         return inventoryRepository.findByWarehouse_WarehouseId(warehouseId)
                                 .stream()
@@ -92,36 +229,80 @@ public class InventoryService {
      *
      * @return list of low-stock inventory entries
      */
-    public List<Inventory> findBelowMinimumStock(){
-        return inventoryRepository.findByQuantityLessThanMinimumStock();
+    @Transactional(readOnly = true)
+    public List<InventoryView> findBelowMinimumStock(){
+        return inventoryRepository.findInventoryViewsBelowMinimumStock();
+    }
+
+    /**
+     * Counts inventory entries where the quantity is below the minimum stock.
+     *
+     * @return number of low-stock inventory entries
+     */
+    @Transactional(readOnly = true)
+    public long countBelowMinimumStock() {
+        return inventoryRepository.countByQuantityLessThanMinimumStock();
     }
 
     /**
      * Creates a new inventory entry.
+     * <p>
+     * The warehouse and product are referenced by ID only; the foreign keys and the
+     * (warehouse, product) unique constraint reject unknown IDs and duplicates on insert.
+     * </p>
      *
-     * @param inventory the inventory object to save
+     * @param request warehouse, product and initial values of the entry
      * @return the saved inventory entry
+     * @throws IllegalArgumentException if an ID is missing or unknown, or the warehouse
+     *                                  already stocks the product
      */
-    public Inventory createInventory(Inventory inventory) {
-        return inventoryRepository.save(inventory);
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional
+    public InventoryView createInventory(NewInventory request) {
+        if (request.warehouseId() == null || request.productId() == null) {
+            throw new IllegalArgumentException("Warehouse ID and product ID are required");
+        }
+        Inventory inventory = new Inventory(warehouseRepository.getReferenceById(request.warehouseId()),
+                productRepository.getReferenceById(request.productId()),
+                request.quantity(), request.minimumStock(), request.warehouseLocation());
+        try {
+            inventoryRepository.saveAndFlush(inventory);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Unknown warehouse or product, or the warehouse already stocks the product", e);
+        }
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.rowCreated(request.warehouseId(), request.productId(),
+                new StockLevel(request.quantity(), request.minimumStock()));
+        return inventoryRepository.findInventoryViewById(inventory.getInventoryId()).orElseThrow();
     }
 
     /**
      * Reduces the inventory amount for a specific warehouse/product pair.
+     * <p>
+     * Uses a single guarded UPDATE, so the quantity is never read into memory
+     * and can never drop below zero.
+     * </p>
      *
      * @param warehouseId the warehouse ID
      * @param productId the product ID
      * @param amount amount to subtract
+     * @return the new quantity after the reduction
      * @throws IllegalArgumentException if no matching inventory record exists
+     * @throws IllegalStateException if the record does not hold enough stock
      */
-    public void reduceInventory(Long warehouseId, Long productId, int amount) {
-        Inventory inv = inventoryRepository.findByWarehouse_WarehouseIdAndProduct_ProductId(warehouseId, productId);
-        if (inv == null) {
-            throw new IllegalArgumentException("Inventory record not found for the given warehouse and product IDs.");
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional
+    public int reduceInventory(Long warehouseId, Long productId, int amount) {
+        StockLevel remaining = inventoryRepository.decrementQuantity(warehouseId, productId, amount);
+        if (remaining == null) {
+            if (!inventoryRepository.existsByWarehouse_WarehouseIdAndProduct_ProductId(warehouseId, productId)) {
+                throw new IllegalArgumentException("Inventory record not found for the given warehouse and product IDs.");
+            }
+            throw new IllegalStateException("INSUFFICIENT_STOCK");
         }
-
-        inv.setQuantity(inv.getQuantity() - amount);
-        inventoryRepository.save(inv);
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.stockChanged(InventoryEvent.Type.STOCK, warehouseId, productId, -amount, remaining, null);
+        return remaining.quantity();
     }
 
     /**
@@ -130,59 +311,242 @@ public class InventoryService {
      * @param id the inventory ID
      * @throws IllegalArgumentException if the inventory ID does not exist
      */
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
     public void deleteInventory(Long id) {
         if (!inventoryRepository.existsById(id)) {
             throw new IllegalArgumentException("Inventory record not found with ID " + id);
         }
         inventoryRepository.deleteById(id);
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.reload();
     }
 
     /**
-     * Transfers inventory quantity from one warehouse to another.
+     * Transfers inventory quantity from one warehouse record to another warehouse.
+     * <p>
+     * Runs as a single transaction: the target row is created if missing, both rows are
+     * locked in ascending warehouse ID order, the quantities are changed with atomic
+     * UPDATEs, and an {@link InventoryTransfer} ledger entry is written. Transfers in
+     * opposite directions between the same warehouses therefore cannot deadlock or
+     * lose updates.
+     * </p>
      *
-     * @param source the source inventory record
-     * @param targetWarehouse the destination warehouse
+     * @param inventoryId ID of the source inventory record
+     * @param targetWarehouseId the destination warehouse ID
      * @param amount amount of stock to transfer
+     * @return a {@link TransferReceipt} describing the completed transfer
+     * @throws IllegalArgumentException if the record or warehouse does not exist, the amount
+     *                                  is not positive, or source and target are the same
+     * @throws IllegalStateException if the source does not hold enough stock
      */
-    public void transferInventory(Inventory source, Warehouse targetWarehouse, int amount) {
-        // 1. Subtract from source warehouse
-        source.setQuantity(source.getQuantity() - amount);
-        inventoryRepository.save(source);
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional
+    public TransferReceipt transferInventory(Long inventoryId, Long targetWarehouseId, int amount) {
+        Inventory source = inventoryRepository.findById(inventoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Inventory record not found with ID " + inventoryId));
 
-        // 2. Check if target warehouse already has this product
-        Inventory target = inventoryRepository.findByWarehouseAndProduct(
-                targetWarehouse, source.getProduct());
+        return transferInventory(source.getProduct().getProductId(),
+                source.getWarehouse().getWarehouseId(), targetWarehouseId, amount);
+    }
 
-        if (target != null) {
-            target.setQuantity(target.getQuantity() + amount);
-            inventoryRepository.save(target);
-        } else {
-            Inventory newInv = new Inventory(
-                    targetWarehouse,
-                    source.getProduct(),
-                    amount,
-                    source.getMinimumStock(),
-                    source.getWarehouseLocation()
-            );
-            inventoryRepository.save(newInv);
+    /**
+     * Transfers a quantity of a product between two warehouses.
+     *
+     * @param productId the product ID
+     * @param sourceWarehouseId warehouse to take stock from
+     * @param targetWarehouseId warehouse to move stock into
+     * @param amount amount of stock to transfer
+     * @return a {@link TransferReceipt} describing the completed transfer
+     * @throws IllegalArgumentException if the source record or target warehouse does not exist,
+     *                                  the amount is not positive, or source and target are the same
+     * @throws IllegalStateException if the source does not hold enough stock
+     * @see #transferInventory(Long, Long, int)
+     */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional
+    public TransferReceipt transferInventory(Long productId, Long sourceWarehouseId, Long targetWarehouseId, int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Invalid transfer amount: " + amount);
+        }
+        if (sourceWarehouseId.equals(targetWarehouseId)) {
+            throw new IllegalArgumentException("Source and target warehouse must differ");
+        }
+        if (!warehouseRepository.existsById(targetWarehouseId)) {
+            throw new IllegalArgumentException("Warehouse not found with ID " + targetWarehouseId);
+        }
+
+        // Make sure the target row exists before taking any row locks
+        inventoryRepository.insertEmptyIfAbsent(sourceWarehouseId, targetWarehouseId, productId);
+
+        List<Long> locked = inventoryRepository.lockForTransfer(productId, List.of(sourceWarehouseId, targetWarehouseId));
+        if (locked.size() < 2) {
+            throw new IllegalArgumentException("Inventory record not found for the given warehouse and product IDs.");
+        }
+
+        StockLevel source = inventoryRepository.decrementQuantity(sourceWarehouseId, productId, amount);
+        if (source == null) {
+            throw new IllegalStateException("INSUFFICIENT_STOCK");
+        }
+        StockLevel target = inventoryRepository.incrementQuantity(targetWarehouseId, productId, amount);
+
+        InventoryTransfer transfer = transferRepository.save(new InventoryTransfer(
+                productRepository.getReferenceById(productId),
+                warehouseRepository.getReferenceById(sourceWarehouseId),
+                warehouseRepository.getReferenceById(targetWarehouseId),
+                amount));
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.stockChanged(InventoryEvent.Type.STOCK, sourceWarehouseId, productId, -amount, source, null);
+        inventoryEvents.stockChanged(InventoryEvent.Type.STOCK, targetWarehouseId, productId, amount, target, null);
+
+        return new TransferReceipt(transfer.getTransferId(), productId, sourceWarehouseId, targetWarehouseId,
+                amount, source.quantity(), target.quantity(), transfer.getTransferDate());
+    }
+
+    /**
+     * Applies many transfer lines in one transaction.
+     * <p>
+     * Missing target rows are created in one batch, every affected row is locked with a
+     * single ordered SELECT ... FOR UPDATE, and the lines are then checked in request order
+     * against the locked quantities. Lines that fail validation, would overdraw their
+     * source, or whose target row another transaction deleted before it was locked are
+     * rejected individually; the net quantity changes of the remaining lines and their
+     * ledger entries are written as JDBC batches.
+     * </p>
+     *
+     * @param lines transfer lines to apply
+     * @return per-line results plus applied/rejected counts
+     */
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional
+    public BatchTransferResult transferInventoryBatch(List<TransferLine> lines) {
+        List<TransferLineResult> results = new ArrayList<>(lines.size());
+        List<Integer> candidates = new ArrayList<>();
+
+        Set<Long> targetIds = new HashSet<>();
+        for (TransferLine line : lines) {
+            if (line.targetWarehouseId() != null) {
+                targetIds.add(line.targetWarehouseId());
+            }
         }
+        Set<Long> existingTargets = batchRepository.findExistingWarehouseIds(targetIds);
+
+        for (int i = 0; i < lines.size(); i++) {
+            TransferLine line = lines.get(i);
+            results.add(null);
+            if (line.productId() == null || line.sourceWarehouseId() == null || line.targetWarehouseId() == null) {
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "productId, sourceWarehouseId and targetWarehouseId are required"));
+            } else if (line.amount() <= 0) {
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "Invalid transfer amount: " + line.amount()));
+            } else if (line.sourceWarehouseId().equals(line.targetWarehouseId())) {
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "Source and target warehouse must differ"));
+            } else if (!existingTargets.contains(line.targetWarehouseId())) {
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "Warehouse not found with ID " + line.targetWarehouseId()));
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return summarize(results);
+        }
+
+        // Create any missing target rows, in lock order, before taking row locks
+        List<TransferLine> candidateLines = candidates.stream().map(lines::get).toList();
+        int[] inserted = batchRepository.insertEmptyTargets(candidateLines);
+        Set<StockKey> created = new HashSet<>();
+        Set<StockKey> keys = new LinkedHashSet<>();
+        for (int c = 0; c < candidateLines.size(); c++) {
+            TransferLine line = candidateLines.get(c);
+            StockKey target = new StockKey(line.targetWarehouseId(), line.productId());
+            keys.add(new StockKey(line.sourceWarehouseId(), line.productId()));
+            keys.add(target);
+            if (inserted[c] > 0) {
+                created.add(target);
+            }
+        }
+
+        Map<StockKey, StockLevel> locked = batchRepository.lockStock(keys);
+        Map<StockKey, Integer> stock = new HashMap<>();
+        locked.forEach((key, level) -> stock.put(key, level.quantity()));
+        Map<StockKey, Integer> deltas = new HashMap<>();
+        Set<StockKey> usedTargets = new HashSet<>();
+        List<TransferLine> applied = new ArrayList<>();
+
+        for (int i : candidates) {
+            TransferLine line = lines.get(i);
+            StockKey source = new StockKey(line.sourceWarehouseId(), line.productId());
+            StockKey target = new StockKey(line.targetWarehouseId(), line.productId());
+            Integer available = stock.get(source);
+            Integer held = stock.get(target);
+
+            if (available == null) {
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "Inventory record not found for the given warehouse and product IDs."));
+            } else if (held == null) {
+                // Deleted by another transaction between creating the target rows and locking them
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "Target inventory record was deleted during the transfer"));
+            } else if (available < line.amount()) {
+                results.set(i, TransferLineResult.rejected(i, line.productId(), "INSUFFICIENT_STOCK"));
+            } else {
+                int sourceQuantity = available - line.amount();
+                int targetQuantity = held + line.amount();
+                stock.put(source, sourceQuantity);
+                stock.put(target, targetQuantity);
+                deltas.merge(source, -line.amount(), Integer::sum);
+                deltas.merge(target, line.amount(), Integer::sum);
+                usedTargets.add(target);
+                applied.add(line);
+                results.set(i, TransferLineResult.applied(i, line.productId(), sourceQuantity, targetQuantity));
+            }
+        }
+
+        batchRepository.applyDeltas(deltas);
+        batchRepository.insertTransfers(applied, LocalDateTime.now());
+
+        created.removeAll(usedTargets);
+        batchRepository.deleteIfEmpty(created);
+        dataVersionService.touch(Table.INVENTORY);
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                inventoryEvents.stockChanged(InventoryEvent.Type.STOCK, key.warehouseId(), key.productId(), delta,
+                        new StockLevel(stock.get(key), locked.get(key).minimumStock()), null);
+            }
+        });
+
+        return summarize(results);
+    }
+
+    /**
+     * Counts applied and rejected lines.
+     *
+     * @param results per-line results
+     * @return the batch summary
+     */
+    private BatchTransferResult summarize(List<TransferLineResult> results) {
+        int applied = (int) results.stream().filter(TransferLineResult::applied).count();
+        return new BatchTransferResult(applied, results.size() - applied, results);
     }
 
     /**
-     * Updates an inventory entry's warehouse location and minimum stock.
+     * Updates an inventory entry's warehouse location and minimum stock with a single
+     * UPDATE that leaves the quantity alone, so a concurrent stock change is never
+     * overwritten. The low-stock transition is derived from the row the update returns.
      *
      * @param inventoryId the inventory ID
      * @param newLocation new warehouse location value
      * @param newMinStock new minimum stock value
      * @throws IllegalArgumentException if the inventory entry does not exist
      */
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    @Transactional
     public void updateInventoryLocationAndMinStock(Long inventoryId, int newLocation, int newMinStock) {
-        Inventory inventory = inventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new IllegalArgumentException("Inventory record not found with ID " + inventoryId));
-
-        inventory.setWarehouseLocation(newLocation);
-        inventory.setMinimumStock(newMinStock);
-        inventoryRepository.save(inventory);
+        MinimumStockChange change = inventoryRepository.updateLocationAndMinimumStock(inventoryId, newLocation, newMinStock);
+        if (change == null) {
+            throw new IllegalArgumentException("Inventory record not found with ID " + inventoryId);
+        }
+        dataVersionService.touch(Table.INVENTORY);
+        inventoryEvents.minimumChanged(change.warehouseId(), change.productId(), change.level(), change.wasBelow());
     }
 
 }
@@ -3,40 +3,74 @@ package com.skillstorm.project1.services;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.project1.dtos.ProductView;
+import com.skillstorm.project1.dtos.Versioned;
 import com.skillstorm.project1.models.Product;
 import com.skillstorm.project1.models.Supplier;
 import com.skillstorm.project1.repositories.ProductRepository;
 import com.skillstorm.project1.repositories.SupplierRepository;
-
-import jakarta.transaction.Transactional;
+import com.skillstorm.project1.services.DataVersionService.Table;
 
 @Service
 public class ProductService {
 
+    /** Cache of the full product listing, held under a single key. */
+    public static final String PRODUCT_LIST_CACHE = "productList";
+
+    /** Cache of product read models by product ID. */
+    public static final String PRODUCT_CACHE = "products";
+
+    /** Tables the product listing is read from; their versions make up its ETag. */
+    private static final Table[] LISTING_TABLES = { Table.PRODUCTS, Table.SUPPLIERS };
+
     // injection for productRepository and supplierRepository
     private final ProductRepository productRepository;
     private final SupplierRepository supplierRepository;
+    private final DataVersionService dataVersionService;
 
     /**
      * Constructs a new ProductService with required repositories.
      *
      * @param productRepository  repository for product data access
      * @param supplierRepository repository for supplier data access
+     * @param dataVersionService tracks table versions for ETags
      */
-    public ProductService(ProductRepository productRepository, SupplierRepository supplierRepository){
+    public ProductService(ProductRepository productRepository, SupplierRepository supplierRepository,
+                          DataVersionService dataVersionService){
         this.productRepository = productRepository;
         this.supplierRepository = supplierRepository;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Returns the ETag of the current product listing without querying the database.
+     *
+     * @return the quoted entity tag
+     */
+    public String getProductsEtag() {
+        return dataVersionService.etag(LISTING_TABLES);
     }
 
     /**
      * Retrieves all products sorted alphabetically by name.
+     * <p>
+     * Results are cached per tag, so any committed write, even one made outside this
+     * application, is picked up as soon as it changes the tag.
+     * </p>
      *
-     * @return list of products ordered by name
+     * @param etag the current tag from {@link #getProductsEtag()}, read before the data
+     * @return list of products ordered by name, tagged with the given versions
      */
-    public List<Product> getAllProducts() {
-        return productRepository.findAllByOrderByProductNameAsc();
+    @Cacheable(PRODUCT_LIST_CACHE)
+    @Transactional(readOnly = true)
+    public Versioned<List<ProductView>> getAllProducts(String etag) {
+        return new Versioned<>(etag, productRepository.findProductViews());
     }
 
     /**
@@ -45,8 +79,10 @@ public class ProductService {
      * @param id the product ID
      * @return an {@link Optional} containing the product if found
      */
-    public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+    @Cacheable(cacheNames = PRODUCT_CACHE, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<ProductView> getProductById(Long id) {
+        return productRepository.findProductViewById(id);
     }
 
     /**
@@ -56,10 +92,12 @@ public class ProductService {
      * @return the saved product
      * @throws IllegalStateException if a product with the same name already exists
      */
+    @CacheEvict(cacheNames = PRODUCT_LIST_CACHE, allEntries = true)
     public Product createProduct(Product product) {
         if (productRepository.existsByProductName(product.getProductName())) {
             throw new IllegalStateException("DUPLICATE_PRODUCT_NAME");
         }
+        dataVersionService.touch(Table.PRODUCTS);
         return productRepository.save(product);
     }
 
@@ -71,7 +109,13 @@ public class ProductService {
      * @return the updated product
      * @throws RuntimeException if the product does not exist
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#id"),
+        @CacheEvict(cacheNames = { PRODUCT_LIST_CACHE, DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    })
+    @Transactional
     public Product updateProduct(Long id, Product details) {
+        dataVersionService.touch(Table.PRODUCTS);
         return productRepository.findById(id)
                 .map(existing -> {
                     existing.setProductName(details.getProductName());
@@ -87,8 +131,13 @@ public class ProductService {
      *
      * @param id the product ID
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#id"),
+        @CacheEvict(cacheNames = { PRODUCT_LIST_CACHE, DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    })
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        dataVersionService.touch(Table.PRODUCTS, Table.INVENTORY);
     }
 
     /**
@@ -105,6 +154,10 @@ public class ProductService {
      * @return the updated product
      * @throws IllegalArgumentException if the product does not exist
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#productId"),
+        @CacheEvict(cacheNames = { PRODUCT_LIST_CACHE, DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
+    })
     @Transactional
     public Product editProduct(Long productId, String productName, String category, double price, Long supplierId) {
         Product product = productRepository.findById(productId)
@@ -120,6 +173,7 @@ public class ProductService {
         } else {
             product.setSupplier(null);
         }
+        dataVersionService.touch(Table.PRODUCTS);
         return productRepository.save(product);
     }
 }
@@ -0,0 +1,152 @@
+package com.skillstorm.project1.services;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues unique, time-ordered IDs for business references such as restock refs.
+ * <p>
+ * An ID packs, from the high bits down, 41 bits of milliseconds since 2025-01-01 UTC
+ * (enough until 2094), a 4-bit node ID and an 8-bit sequence within the millisecond.
+ * That is 53 bits, so IDs survive a round trip through JSON in JavaScript unchanged.
+ * Every running instance needs its own node ID (see {@code ReferenceIdConfig}); IDs
+ * from different nodes then never collide. Before each ID the generator asks its
+ * {@link NodeReservation} to vouch for the node ID, which refuses while the reservation
+ * is in doubt and holds back a new holder until a previous one must have stopped.
+ * </p>
+ * <p>
+ * The generator is lock-free: the last issued time and sequence are kept in one
+ * {@link AtomicLong} and advanced by compare-and-set. If more than 256 IDs are asked
+ * for within a millisecond, or the clock steps backwards, the sequence carries into the
+ * time bits, so IDs keep increasing and run slightly ahead of the clock until it
+ * catches up. They never run more than {@link #MAX_RUN_AHEAD_MILLIS} ahead, so the next
+ * holder of the node ID knows how long to wait: beyond that the generator waits for the
+ * clock, and refuses if it does not catch up within the same time.
+ * </p>
+ */
+public class ReferenceIdGenerator {
+
+    /** Bits holding the node ID. */
+    public static final int NODE_BITS = 4;
+
+    /** Bits holding the sequence within a millisecond. */
+    public static final int SEQUENCE_BITS = 8;
+
+    /** Highest valid node ID. */
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    /** Furthest the time bits of an ID may run ahead of the clock. */
+    public static final long MAX_RUN_AHEAD_MILLIS = 1000;
+
+    /** 2025-01-01T00:00:00Z, the zero point of the time bits. */
+    static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final Clock clock;
+    private final NodeReservation reservation;
+
+    /** Time (in milliseconds since the epoch above) and sequence of the last ID, as {@code time << SEQUENCE_BITS | sequence}. */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Vouches that a node ID is reserved for this instance.
+     */
+    @FunctionalInterface
+    public interface NodeReservation {
+
+        /**
+         * Returns once IDs may be issued with the node ID, waiting if a previous holder
+         * may still be issuing them.
+         *
+         * @throws IllegalStateException if the node ID is not known to be reserved
+         */
+        void confirm();
+    }
+
+    /**
+     * Creates a generator whose node ID is always reserved.
+     *
+     * @param nodeId this instance's node ID, from 0 to {@link #MAX_NODE_ID}
+     * @param clock  clock supplying the time bits
+     * @throws IllegalArgumentException if the node ID is out of range
+     */
+    public ReferenceIdGenerator(int nodeId, Clock clock) {
+        this(nodeId, clock, () -> { });
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param nodeId       this instance's node ID, from 0 to {@link #MAX_NODE_ID}
+     * @param clock        clock supplying the time bits
+     * @param reservation  vouches for the node ID before each ID
+     * @throws IllegalArgumentException if the node ID is out of range
+     */
+    public ReferenceIdGenerator(int nodeId, Clock clock, NodeReservation reservation) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId;
+        this.clock = clock;
+        this.reservation = reservation;
+    }
+
+    /**
+     * Returns a new ID, greater than every ID this generator returned before.
+     * Waits while the ID would run more than {@link #MAX_RUN_AHEAD_MILLIS} ahead of the clock.
+     *
+     * @return the ID
+     * @throws IllegalStateException if the node ID is not known to be reserved, since another
+     *                               instance may be issuing IDs with it, or if the clock has not
+     *                               caught up after waiting {@link #MAX_RUN_AHEAD_MILLIS}
+     */
+    public long nextId() {
+        reservation.confirm();
+        long waitingSince = 0;
+        while (true) {
+            long now = (clock.millis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            long previous = last.get();
+            long candidate = Math.max(now, previous + 1);
+            if ((candidate >>> SEQUENCE_BITS) - (now >>> SEQUENCE_BITS) <= MAX_RUN_AHEAD_MILLIS) {
+                if (last.compareAndSet(previous, candidate)) {
+                    return (candidate >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS
+                            | (candidate & SEQUENCE_MASK);
+                }
+                continue;
+            }
+            // A burst catches up within the run-ahead; a clock that stepped back further does not
+            if (waitingSince == 0) {
+                waitingSince = System.nanoTime();
+            } else if (System.nanoTime() - waitingSince > TimeUnit.MILLISECONDS.toNanos(MAX_RUN_AHEAD_MILLIS)) {
+                throw new IllegalStateException("Reference IDs would run more than " + MAX_RUN_AHEAD_MILLIS
+                        + " ms ahead of the clock; has it stepped backwards?");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Returns the time encoded in an ID.
+     *
+     * @param id an ID from {@link #nextId()}
+     * @return when the ID was issued, to the millisecond
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * Returns the node ID encoded in an ID.
+     *
+     * @param id an ID from {@link #nextId()}
+     * @return the node that issued it
+     */
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
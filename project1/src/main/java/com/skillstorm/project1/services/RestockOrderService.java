@@ -1,20 +1,29 @@
 package com.skillstorm.project1.services;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.skillstorm.project1.models.Inventory;
+import com.skillstorm.project1.config.MetricsConfig;
+import com.skillstorm.project1.dtos.InventoryEvent;
+import com.skillstorm.project1.dtos.ProductView;
+import com.skillstorm.project1.dtos.RestockOrderView;
+import com.skillstorm.project1.dtos.StockLevel;
+import com.skillstorm.project1.dtos.WarehouseView;
 import com.skillstorm.project1.models.Product;
 import com.skillstorm.project1.models.RestockOrder;
+import com.skillstorm.project1.models.Supplier;
 import com.skillstorm.project1.models.Warehouse;
 import com.skillstorm.project1.repositories.InventoryRepository;
 import com.skillstorm.project1.repositories.ProductRepository;
 import com.skillstorm.project1.repositories.RestockOrderRepository;
+import com.skillstorm.project1.repositories.SupplierRepository;
 import com.skillstorm.project1.repositories.WarehouseRepository;
+import com.skillstorm.project1.services.DataVersionService.Table;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 
 @Service
 public class RestockOrderService {
@@ -22,22 +31,43 @@ public class RestockOrderService {
     private final RestockOrderRepository restockRepository;
     private final WarehouseRepository warehouseRepository;
     private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
     private final InventoryRepository inventoryRepository;
+    private final WarehouseService warehouseService;
+    private final ProductService productService;
+    private final DataVersionService dataVersionService;
+    private final InventoryEventPublisher inventoryEvents;
+    private final ReferenceIdGenerator referenceIds;
 
     /**
-     * Creates an instance of the service with required repositories.
+     * Creates an instance of the service with required repositories and services.
      *
      * @param restockRepository   repository for restock order access
      * @param warehouseRepository repository for warehouse access
      * @param productRepository   repository for product access
+     * @param supplierRepository  repository for supplier access
      * @param inventoryRepository repository for inventory access
+     * @param warehouseService    cached warehouse lookups
+     * @param productService      cached product lookups
+     * @param dataVersionService  tracks table versions for ETags
+     * @param inventoryEvents     announces stock changes to live dashboards
+     * @param referenceIds        issues the orders' restock refs
      */
     public RestockOrderService(RestockOrderRepository restockRepository, WarehouseRepository warehouseRepository, 
-                               ProductRepository productRepository, InventoryRepository inventoryRepository) {
+                               ProductRepository productRepository, SupplierRepository supplierRepository,
+                               InventoryRepository inventoryRepository, WarehouseService warehouseService,
+                               ProductService productService, DataVersionService dataVersionService,
+                               InventoryEventPublisher inventoryEvents, ReferenceIdGenerator referenceIds) {
         this.restockRepository = restockRepository;
         this.warehouseRepository = warehouseRepository;
         this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
         this.inventoryRepository = inventoryRepository;
+        this.warehouseService = warehouseService;
+        this.productService = productService;
+        this.dataVersionService = dataVersionService;
+        this.inventoryEvents = inventoryEvents;
+        this.referenceIds = referenceIds;
     }
 
     /**
@@ -45,8 +75,9 @@ public class RestockOrderService {
      *
      * @return list of all restock orders
      */
-    public List<RestockOrder> findAllRestockOrders() {
-        return restockRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<RestockOrderView> findAllRestockOrders() {
+        return restockRepository.findRestockOrderViews();
     }
 
     /**
@@ -55,14 +86,19 @@ public class RestockOrderService {
      * @param warehouseId the warehouse ID
      * @return list of restock orders for the warehouse
      */
-    public List<RestockOrder> findByWarehouseId(Long warehouseId) {
-        return restockRepository.findAllByWarehouse_WarehouseId(warehouseId);
+    @Transactional(readOnly = true)
+    public List<RestockOrderView> findByWarehouseId(Long warehouseId) {
+        return restockRepository.findRestockOrderViewsByWarehouse(warehouseId);
     }
 
     /**
      * Creates a new restock order and updates warehouse inventory accordingly.
      * <p>
-     * If the inventory entry does not exist, a new one is created.
+     * The warehouse and product are validated against the cached read models, and the
+     * order refers to them by reference only, so placing an order reads no reference
+     * data from the database. Stock is added with a single UPDATE; if the inventory
+     * entry does not exist, it is first created empty with INSERT ... ON CONFLICT DO NOTHING,
+     * so concurrent first restocks of a product both succeed.
      * </p>
      *
      * @param warehouseId the warehouse ID
@@ -72,29 +108,37 @@ public class RestockOrderService {
      * @return the saved restock order
      * @throws IllegalArgumentException if warehouse or product IDs are invalid
      */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    @CacheEvict(cacheNames = { DashboardService.KPI_CACHE, WarehouseService.TOTALS_CACHE }, allEntries = true)
     @Transactional
-    public RestockOrder createRestockOrder(Long warehouseId, Long productId, int amount, String orderedBy) {
-        Warehouse warehouse = warehouseRepository.findById(warehouseId)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid warehouse ID"));
-        Product product = productRepository.findById(productId)
+    public RestockOrderView createRestockOrder(Long warehouseId, Long productId, int amount, String orderedBy) {
+        WarehouseView warehouse = warehouseService.getWarehouseById(warehouseId);
+        ProductView product = productService.getProductById(productId)
             .orElseThrow(() -> new IllegalArgumentException("Invalid product ID"));
 
-        // Find or create the inventory record
-        Inventory inventory = inventoryRepository.findByWarehouse_WarehouseIdAndProduct_ProductId(warehouseId, productId);
-        if (inventory == null) {
-            inventory = new Inventory(warehouse, product, 0, 0, 0);
-        }
+        Warehouse warehouseRef = warehouseRepository.getReferenceById(warehouseId);
+        Product productRef = productRepository.getReferenceById(productId);
+        Supplier supplierRef = product.supplier() == null
+            ? null : supplierRepository.getReferenceById(product.supplier().supplierId());
 
-        // Update quantity and timestamp
-        inventory.setQuantity(inventory.getQuantity() + amount);
-        inventory.setLastUpdated(LocalDateTime.now());
-        inventoryRepository.save(inventory);
+        // Add to the existing inventory record. The first restock of a product here creates
+        // the record; a concurrent first restock may be creating it too, so insert-if-absent
+        StockLevel level = inventoryRepository.incrementQuantity(warehouseId, productId, amount);
+        if (level == null) {
+            inventoryRepository.insertEmptyIfAbsent(warehouseId, productId);
+            level = inventoryRepository.incrementQuantity(warehouseId, productId, amount);
+        }
+        dataVersionService.touch(Table.INVENTORY);
 
         // Create restock order
-        RestockOrder order = new RestockOrder(warehouse, product, product.getSupplier(), amount, orderedBy);
-        order.setRestockRef(System.currentTimeMillis()); // simple unique ref
+        RestockOrder order = new RestockOrder(warehouseRef, productRef, supplierRef, amount, orderedBy);
+        order.setRestockRef(referenceIds.nextId());
+        order = restockRepository.save(order);
+        inventoryEvents.stockChanged(InventoryEvent.Type.RESTOCK, warehouseId, productId, amount, level, order.getRestockId());
 
-        return restockRepository.save(order);
+        return new RestockOrderView(order.getRestockId(), order.getRestockRef(), warehouse,
+            new ProductView(product.productId(), product.productName(), product.price(), product.category(), null),
+            product.supplier(), order.getAmount(), order.getRestockDate(), order.getOrderedBy());
     }
 
 }
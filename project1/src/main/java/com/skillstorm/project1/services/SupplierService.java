@@ -2,25 +2,51 @@ package com.skillstorm.project1.services;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.project1.dtos.SupplierView;
+import com.skillstorm.project1.dtos.Versioned;
 import com.skillstorm.project1.models.Supplier;
 import com.skillstorm.project1.repositories.SupplierRepository;
-
-import jakarta.transaction.Transactional;
+import com.skillstorm.project1.services.DataVersionService.Table;
 
 @Service
 public class SupplierService {
 
+    /** Cache of the full supplier listing, held under a single key. */
+    public static final String SUPPLIER_LIST_CACHE = "supplierList";
+
+    /**
+     * Cache of supplier read models by supplier ID. Product read models embed a
+     * supplier summary, so supplier writes evict the product caches as well.
+     */
+    public static final String SUPPLIER_CACHE = "suppliers";
+
     private final SupplierRepository supplierRepository;
+    private final DataVersionService dataVersionService;
 
     /**
      * Constructs a new SupplierService with the required repository.
      *
      * @param supplierRepository repository for supplier data access
+     * @param dataVersionService tracks table versions for ETags
      */
-    public SupplierService(SupplierRepository supplierRepository) {
+    public SupplierService(SupplierRepository supplierRepository, DataVersionService dataVersionService) {
         this.supplierRepository = supplierRepository;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Returns the ETag of the current supplier listing without querying the database.
+     *
+     * @return the quoted entity tag
+     */
+    public String getSuppliersEtag() {
+        return dataVersionService.etag(Table.SUPPLIERS);
     }
 
     /**
@@ -29,17 +55,37 @@ public class SupplierService {
      * @param id the supplier ID
      * @return the supplier if found, otherwise {@code null}
      */
+    @Transactional(readOnly = true)
     public Supplier getSupplierById(Long id) {
         return supplierRepository.findById(id).orElse(null);
     }
 
     /**
      * Retrieves all suppliers.
+     * <p>
+     * Results are cached per tag, so any committed write, even one made outside this
+     * application, is picked up as soon as it changes the tag.
+     * </p>
+     *
+     * @param etag the current tag from {@link #getSuppliersEtag()}, read before the data
+     * @return list of all suppliers, tagged with the given version
+     */
+    @Cacheable(SUPPLIER_LIST_CACHE)
+    @Transactional(readOnly = true)
+    public Versioned<List<SupplierView>> getAllSuppliers(String etag) {
+        return new Versioned<>(etag, supplierRepository.findSupplierViews());
+    }
+
+    /**
+     * Retrieves a supplier read model by its ID.
      *
-     * @return list of all suppliers
+     * @param id the supplier ID
+     * @return the supplier if found, otherwise {@code null}
      */
-    public List<Supplier> getAllSuppliers() {
-        return supplierRepository.findAll();
+    @Cacheable(cacheNames = SUPPLIER_CACHE, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public SupplierView getSupplierViewById(Long id) {
+        return supplierRepository.findSupplierViewById(id).orElse(null);
     }
 
     /**
@@ -53,6 +99,11 @@ public class SupplierService {
      * @return the updated supplier
      * @throws IllegalArgumentException if the supplier does not exist
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = SUPPLIER_CACHE, key = "#supplierId"),
+        @CacheEvict(cacheNames = { SUPPLIER_LIST_CACHE, ProductService.PRODUCT_CACHE, ProductService.PRODUCT_LIST_CACHE },
+                    allEntries = true)
+    })
     @Transactional
     public Supplier editSupplier(Long supplierId, String name, String contactEmail, String phone, String address) {
         Supplier supplier = supplierRepository.findById(supplierId)
@@ -63,6 +114,7 @@ public class SupplierService {
         supplier.setPhone(phone);
         supplier.setAddress(address);
 
+        dataVersionService.touch(Table.SUPPLIERS);
         return supplierRepository.save(supplier);
     }
 
@@ -71,9 +123,15 @@ public class SupplierService {
      *
      * @param supplierId the supplier ID
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = SUPPLIER_CACHE, key = "#supplierId"),
+        @CacheEvict(cacheNames = { SUPPLIER_LIST_CACHE, ProductService.PRODUCT_CACHE, ProductService.PRODUCT_LIST_CACHE },
+                    allEntries = true)
+    })
     @Transactional
     public void deleteSupplier(Long supplierId) {
         supplierRepository.deleteById(supplierId);
+        dataVersionService.touch(Table.SUPPLIERS, Table.PRODUCTS);
     }
 
     /**
@@ -83,10 +141,12 @@ public class SupplierService {
      * @return the saved supplier
      * @throws IllegalStateException if a supplier with the same name already exists
      */
+    @CacheEvict(cacheNames = SUPPLIER_LIST_CACHE, allEntries = true)
     public Supplier createSupplier(Supplier supplier) {
         if (supplierRepository.existsByName(supplier.getName())) {
             throw new IllegalStateException("DUPLICATE_SUPPLIER_NAME");
         }
+        dataVersionService.touch(Table.SUPPLIERS);
         return supplierRepository.save(supplier);
     }
 }
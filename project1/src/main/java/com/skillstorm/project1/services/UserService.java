@@ -6,7 +6,9 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.project1.dtos.UserView;
 import com.skillstorm.project1.models.User;
 import com.skillstorm.project1.repositories.UserRepository;
 
@@ -30,10 +32,11 @@ public class UserService {
     /**
      * Retrieves all users.
      *
-     * @return list of all {@link User} entries
+     * @return list of all users as read models, without password hashes
      */
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserView> getAllUsers() {
+        return userRepository.findUserViews();
     }
 
     /**
@@ -42,6 +45,7 @@ public class UserService {
      * @param email the email to search for
      * @return an {@link Optional} containing the user if found
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -74,6 +78,7 @@ public class UserService {
      * @param password the raw (unhashed) password provided by the client
      * @return {@code true} if the credentials match, otherwise {@code false}
      */
+    @Transactional(readOnly = true)
     public boolean validateLogin(String email, String password) {
         Optional<User> found = userRepository.findByEmail(email);
 
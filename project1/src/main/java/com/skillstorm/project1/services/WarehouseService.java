@@ -1,62 +1,84 @@
 package com.skillstorm.project1.services;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.skillstorm.project1.models.Inventory;
+import com.skillstorm.project1.config.MetricsConfig;
+import com.skillstorm.project1.dtos.Versioned;
+import com.skillstorm.project1.dtos.WarehouseTotals;
+import com.skillstorm.project1.dtos.WarehouseView;
 import com.skillstorm.project1.models.Warehouse;
 import com.skillstorm.project1.repositories.InventoryRepository;
 import com.skillstorm.project1.repositories.WarehouseRepository;
+import com.skillstorm.project1.services.DataVersionService.Table;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 
 @Service
 public class WarehouseService {
 
+    /**
+     * Cache of the warehouse listing with inventory totals, held under a single key.
+     * Evicted together with the dashboard KPIs by every inventory write.
+     */
+    public static final String TOTALS_CACHE = "warehouseTotals";
+
+    /** Cache of warehouse read models by warehouse ID. */
+    public static final String WAREHOUSE_CACHE = "warehouses";
+
+    /** Tables the warehouse totals are computed from; their versions make up its ETag. */
+    private static final Table[] TOTALS_TABLES = { Table.WAREHOUSES, Table.INVENTORY, Table.PRODUCTS };
+
     private final WarehouseRepository warehouseRepository;
     private final InventoryRepository inventoryRepository;
+    private final DataVersionService dataVersionService;
 
     /**
      * Constructs a new WarehouseService with required repositories.
      *
      * @param warehouseRepository repository for warehouse data access
      * @param inventoryRepository repository for inventory data access
+     * @param dataVersionService  tracks table versions for ETags
      */
-    public WarehouseService(WarehouseRepository warehouseRepository, InventoryRepository inventoryRepository) {
+    public WarehouseService(WarehouseRepository warehouseRepository, InventoryRepository inventoryRepository,
+                            DataVersionService dataVersionService) {
         this.warehouseRepository = warehouseRepository;
         this.inventoryRepository = inventoryRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
-     * Retrieves all warehouses along with their total inventory quantities.
+     * Returns the ETag of the current warehouse totals without querying the database.
      *
-     * @return list of maps containing warehouse details and total stock
+     * @return the quoted entity tag
      */
-    public List<Map<String, Object>> findAllWarehousesWithTotals() {
-        List<Warehouse> warehouses = warehouseRepository.findAllByOrderByNameAsc();
-        List<Inventory> inventory = inventoryRepository.findAll();
-        List<Map<String, Object>> results = new ArrayList<>();
-
-        for (Warehouse w : warehouses) {
-            int total = inventory.stream()
-                    .filter(i -> i.getWarehouse().getWarehouseId().equals(w.getWarehouseId()))
-                    .mapToInt(Inventory::getQuantity)
-                    .sum();
-
-            Map<String, Object> data = new HashMap<>();
-            data.put("warehouseId", w.getWarehouseId());
-            data.put("name", w.getName());
-            data.put("location", w.getLocation());
-            data.put("totalSupply", total);
-            data.put("capacity", w.getCapacity());
-            results.add(data);
-        }
+    public String getWarehouseTotalsEtag() {
+        return dataVersionService.etag(TOTALS_TABLES);
+    }
 
-        return results;
+    /**
+     * Retrieves all warehouses along with their aggregated inventory totals
+     * (quantity, distinct SKUs, valuation and capacity utilization).
+     * <p>
+     * The aggregation runs in the database, so the cost does not depend on
+     * how many inventory rows have to be loaded into memory. Results are cached per
+     * tag, so any committed write, even one made outside this application, is picked
+     * up as soon as it changes the tag.
+     * </p>
+     *
+     * @param etag the current tag from {@link #getWarehouseTotalsEtag()}, read before the data
+     * @return list of {@link WarehouseTotals} ordered by warehouse name, tagged with the given versions
+     */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    @Cacheable(TOTALS_CACHE)
+    @Transactional(readOnly = true)
+    public Versioned<List<WarehouseTotals>> findAllWarehousesWithTotals(String etag) {
+        return new Versioned<>(etag, inventoryRepository.findWarehouseTotals());
     }
 
     /**
@@ -67,12 +89,14 @@ public class WarehouseService {
      * @param capacity warehouse capacity
      * @return the saved warehouse
      */
+    @CacheEvict(cacheNames = TOTALS_CACHE, allEntries = true)
     @Transactional
     public Warehouse createWarehouse(String name, String location, int capacity) {
         Warehouse warehouse = new Warehouse();
         warehouse.setName(name);
         warehouse.setLocation(location);
         warehouse.setCapacity(capacity);
+        dataVersionService.touch(Table.WAREHOUSES);
         return warehouseRepository.save(warehouse);
     }
 
@@ -82,13 +106,17 @@ public class WarehouseService {
      * @param warehouseId the ID of the warehouse to delete
      * @throws IllegalArgumentException if the warehouse does not exist
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = WAREHOUSE_CACHE, key = "#warehouseId"),
+        @CacheEvict(cacheNames = { TOTALS_CACHE, DashboardService.KPI_CACHE }, allEntries = true)
+    })
     @Transactional
     public void deleteWarehouse(Long warehouseId) {
         if (!warehouseRepository.existsById(warehouseId)) {
             throw new IllegalArgumentException("Invalid warehouse ID");
         }
         warehouseRepository.deleteById(warehouseId);
-        warehouseRepository.deleteById(warehouseId);
+        dataVersionService.touch(Table.WAREHOUSES, Table.INVENTORY);
     }
 
     /**
@@ -101,6 +129,10 @@ public class WarehouseService {
      * @return the updated warehouse
      * @throws IllegalArgumentException if the warehouse does not exist
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = WAREHOUSE_CACHE, key = "#warehouseId"),
+        @CacheEvict(cacheNames = TOTALS_CACHE, allEntries = true)
+    })
     @Transactional
     public Warehouse editWarehouse(Long warehouseId, String name, String location, int capacity) {
         Warehouse warehouse = warehouseRepository.findById(warehouseId)
@@ -110,6 +142,7 @@ public class WarehouseService {
         warehouse.setLocation(location);
         warehouse.setCapacity(capacity);
 
+        dataVersionService.touch(Table.WAREHOUSES);
         return warehouseRepository.save(warehouse);
     }
 
@@ -117,11 +150,13 @@ public class WarehouseService {
      * Retrieves a warehouse by its ID.
      *
      * @param warehouseId the warehouse ID
-     * @return the warehouse object
+     * @return the warehouse read model, without its inventory
      * @throws IllegalArgumentException if not found
      */
-    public Warehouse getWarehouseById(Long warehouseId) {
-        return warehouseRepository.findById(warehouseId)
+    @Cacheable(WAREHOUSE_CACHE)
+    @Transactional(readOnly = true)
+    public WarehouseView getWarehouseById(Long warehouseId) {
+        return warehouseRepository.findWarehouseViewById(warehouseId)
                 .orElseThrow(() -> new IllegalArgumentException("Warehouse not found with ID " + warehouseId));
     }
 }
@@ -1,64 +1,115 @@
 const URL = "http://localhost:8080";
 
 
-// ============================== LOAD TOTAL INVENTORY QUANTITY ==============================
+// ============================== DASHBOARD KPIS ==============================
 
 /**
- * Fetches all inventory items, calculates total quantity and value,
- * formats results, and updates the dashboard display fields.
+ * Fetches the server-side dashboard KPIs (total units, total value, low-stock count)
+ * in one request and updates the dashboard display fields.
  * @async
  * @returns {Promise<void>}
  */
-async function loadTotalInventoryQuantityAndValue() {
-    try {
-      const response = await fetch(`/inventory`, {credentials: "include"});
-      const inventoryItems = await response.json();
-      let totalQuantity = 0;
-      let totalValue = 0;
-      inventoryItems.forEach(item => {
-        totalQuantity += item.quantity || 0;
-        totalValue += (item.quantity || 0) * (item.product.price || 0);
-      });
-      const formattedValue = totalValue.toLocaleString("en-US", {
-        minimumFractionDigits: 2,
-        maximumFractionDigits: 2
-      });
-
-      document.getElementById("totalInventoryQuantity").innerHTML = `
-      <span class="card-value">
-      <h3>Overall supply inventory</h3>
-      ${totalQuantity}</span>`;
-
-      document.getElementById("totalInventoryValue").innerHTML = `
-      <span class="card-value">
-      <h3>Total Inventory Value</h3>
-      $${formattedValue}</span>`;
-    
-    } catch (err) {
-      console.error("Error loading total inventory quantity:", err);
-    }
+async function loadDashboardKpis() {
+  try {
+    const response = await fetch("/dashboard/kpis", {credentials: "include"});
+    if (!response.ok) throw new Error(`Failed to load KPIs (${response.status})`);
+    const kpis = await response.json();
+    const formattedValue = kpis.totalValue.toLocaleString("en-US", {
+      minimumFractionDigits: 2,
+      maximumFractionDigits: 2
+    });
+
+    document.getElementById("totalInventoryQuantity").innerHTML = `
+    <span class="card-value">
+    <h3>Overall supply inventory</h3>
+    ${kpis.totalUnits}</span>`;
+
+    document.getElementById("totalInventoryValue").innerHTML = `
+    <span class="card-value">
+    <h3>Total Inventory Value</h3>
+    $${formattedValue}</span>`;
+
+    document.getElementById("lowStockValue").innerHTML = `${kpis.lowStockCount} <small>items</small>`;
+  } catch (err) {
+    console.error("Error loading dashboard KPIs:", err);
+    document.getElementById("lowStockValue").innerHTML = `<span style="color:red;">Error</span>`;
+  }
 }
 
 
 
-// ============================== LOW STOCK COUNT ==============================
+// ============================== LIVE UPDATES ==============================
+
+let kpiRefreshTimer = null;
 
 /**
- * Loads the number of inventory items that are below their minimum stock level
- * and updates the low stock counter on the dashboard.
- * @async
- * @returns {Promise<void>}
+ * Reloads the KPIs shortly after the last of a burst of inventory events,
+ * so a batch of changes costs one request instead of one per event.
+ * @returns {void}
  */
-async function loadLowStockCount() {
-  try {
-    const response = await fetch("/inventory/below-minimum", {credentials: "include"});
-    const items = await response.json();
-    const count = items.length;
-    document.getElementById("lowStockValue").innerHTML = `${count} <small>items</small>`;
-  } catch (err) {
-    console.error("Error fetching low-stock count:", err);
-    document.getElementById("lowStockValue").innerHTML = `<span style="color:red;">Error</span>`;
+function scheduleKpiRefresh() {
+  clearTimeout(kpiRefreshTimer);
+  kpiRefreshTimer = setTimeout(loadDashboardKpis, 500);
+}
+
+/**
+ * Adds a delta to a table cell holding a formatted count.
+ * @param {HTMLTableCellElement} cell - Cell to update.
+ * @param {number} delta - Amount to add.
+ * @returns {void}
+ */
+function adjustCountCell(cell, delta) {
+  const current = Number(cell.textContent.replace(/,/g, ""));
+  cell.textContent = (current + delta).toLocaleString("en-US");
+}
+
+/**
+ * Applies one inventory event from the server to the visible tables:
+ * the warehouse's total supply and, if that warehouse's inventory is open,
+ * the product's quantity and low-stock highlight.
+ * @param {Object} event - Parsed InventoryEvent.
+ * @returns {void}
+ */
+function applyInventoryEvent(event) {
+  if (event.type === "RELOAD") {
+    loadWarehouses();
+    scheduleKpiRefresh();
+    return;
   }
+
+  const inventoryBody = document.getElementById("warehouseInventoryTableBody");
+  const inventoryRow = inventoryBody.dataset.warehouseId == event.warehouseId
+    ? inventoryBody.querySelector(`tr[data-product-id="${event.productId}"]`)
+    : null;
+
+  if (event.type === "LOW_STOCK" || event.type === "LOW_STOCK_CLEARED") {
+    if (inventoryRow) inventoryRow.style.border = event.type === "LOW_STOCK" ? "2px solid orange" : "";
+    scheduleKpiRefresh();
+    return;
+  }
+
+  const warehouseRow = document.querySelector(`#warehouseTableBody tr[data-warehouse-id="${event.warehouseId}"]`);
+  if (warehouseRow) adjustCountCell(warehouseRow.cells[2], event.delta);
+  if (inventoryRow) inventoryRow.cells[2].textContent = event.quantity;
+  scheduleKpiRefresh();
+}
+
+/**
+ * Subscribes to the server's inventory event stream. The browser reconnects
+ * on its own after a drop; since events sent while disconnected are not
+ * replayed, the tables are reloaded on every reconnect.
+ * @returns {void}
+ */
+function subscribeToInventoryEvents() {
+  const source = new EventSource("/inventory/events");
+  let connectedBefore = false;
+
+  source.onopen = () => {
+    if (connectedBefore) applyInventoryEvent({ type: "RELOAD" });
+    connectedBefore = true;
+  };
+  source.onmessage = (message) => applyInventoryEvent(JSON.parse(message.data));
+  source.onerror = (err) => console.warn("Inventory event stream interrupted:", err);
 }
 
 
@@ -109,9 +160,9 @@ async function logout() {
 // Initial startup calls
 checkLogin();
 loadRestockOrders();
-loadLowStockCount();
-loadTotalInventoryQuantityAndValue();
+loadDashboardKpis();
 loadWarehouses();
+subscribeToInventoryEvents();
 
 
 
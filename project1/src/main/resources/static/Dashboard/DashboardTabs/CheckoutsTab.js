@@ -1,41 +1,88 @@
 // ============================== LOAD CHECKOUTS ==============================
 
+const CHECKOUT_PAGE_SIZE = 50;
+let nextCheckoutCursor = null;
+
 /**
- * Loads all checkout records from the backend and renders them in the table.
+ * Loads the first page of checkout records from the backend and renders them in the table.
+ * Older checkouts are fetched on demand with {@link loadMoreCheckouts}.
  * @async
  * @returns {Promise<void>}
  */
 async function loadCheckouts() {
   try {
-    const response = await fetch("/checkouts", {credentials: "include"});
-    const checkouts = await response.json();
+    const response = await fetch(`/checkouts/page?size=${CHECKOUT_PAGE_SIZE}`, {credentials: "include"});
+    const page = await response.json();
     const body = document.getElementById("checkoutTableBody");
     body.innerHTML = "";
 
-    if (!checkouts.length) {
+    if (!page.items.length) {
       body.innerHTML = `<tr><td colspan="5" style="text-align:center;">No checkouts found.</td></tr>`;
+      updateLoadMoreCheckouts(null);
       return;
     }
 
-    checkouts.forEach(co => {
-      const row = document.createElement("tr");
-      row.innerHTML = `
-        <td>${co.checkoutId}</td>
-        <td>${co.product?.productName || "Unknown Item"}</td>
-        <td>${co.amount}</td>
-        <td>${co.warehouse?.name || "Unknown Warehouse"}</td>
-        <td>${new Date(co.checkoutDate).toLocaleDateString()}</td>
-        <td>${co.userEmail || "N/A"}</td>
-      `;
-      body.appendChild(row);
-    });
+    appendCheckoutRows(page.items);
+    updateLoadMoreCheckouts(page.nextCursor);
 
   } catch (err) {
     console.error("Error loading checkouts:", err);
     document.getElementById("checkoutTableBody").innerHTML =
       `<tr><td colspan="5" style="text-align:center;color:red;">Error loading data</td></tr>`;
   }
-} 
+}
+
+/**
+ * Fetches the next page of checkouts and appends it to the table.
+ * @async
+ * @returns {Promise<void>}
+ */
+async function loadMoreCheckouts() {
+  if (!nextCheckoutCursor) return;
+  try {
+    const response = await fetch(
+      `/checkouts/page?size=${CHECKOUT_PAGE_SIZE}&cursor=${encodeURIComponent(nextCheckoutCursor)}`,
+      {credentials: "include"});
+    const page = await response.json();
+    appendCheckoutRows(page.items);
+    updateLoadMoreCheckouts(page.nextCursor);
+    applyCheckoutFilters();
+  } catch (err) {
+    console.error("Error loading more checkouts:", err);
+    showToast("Error loading more checkouts.", 3000);
+  }
+}
+
+/**
+ * Renders checkout records as rows at the end of the checkout table.
+ * @param {Array<Object>} checkouts
+ * @returns {void}
+ */
+function appendCheckoutRows(checkouts) {
+  const body = document.getElementById("checkoutTableBody");
+  checkouts.forEach(co => {
+    const row = document.createElement("tr");
+    row.innerHTML = `
+      <td>${co.checkoutId}</td>
+      <td>${co.productName || "Unknown Item"}</td>
+      <td>${co.amount}</td>
+      <td>${co.warehouseName || "Unknown Warehouse"}</td>
+      <td>${new Date(co.checkoutDate).toLocaleDateString()}</td>
+      <td>${co.userEmail || "N/A"}</td>
+    `;
+    body.appendChild(row);
+  });
+}
+
+/**
+ * Stores the cursor for the next page and shows the "Load More" button only when more pages exist.
+ * @param {string|null} cursor
+ * @returns {void}
+ */
+function updateLoadMoreCheckouts(cursor) {
+  nextCheckoutCursor = cursor;
+  document.getElementById("loadMoreCheckoutsBtn").style.display = cursor ? "inline-block" : "none";
+}
 
 
 
@@ -206,11 +253,6 @@ async function submitCheckout() {
       showToast("Please enter a valid amount. ⚠️", 3000);
       return;
     }
-    const inStock = await checkIfInStock(warehouseId, productId, amount);
-    if (!inStock) {
-      showToast("Not enough stock available. ⚠️", 3000);
-      return;
-    }
     const response = await fetch(URL + "/checkouts/create_checkout", {
       method: "POST",
       credentials: "include",
@@ -223,12 +265,13 @@ async function submitCheckout() {
       })
     });
     if (response.ok) {
-      await reduceInventory(warehouseId, productId, amount);
       showToast("Checkout successfull!");
-      loadLowStockCount();
-      loadTotalInventoryQuantityAndValue();
+      loadDashboardKpis();
+      loadWarehouses();
       document.getElementById("checkoutModal").style.display = "none";
       loadCheckouts();
+    } else if (response.status === 409) {
+      showToast("Not enough stock available. ⚠️", 3000);
     } else {
       showToast("Checkout failed.", 3000);
     }
@@ -240,44 +283,6 @@ async function submitCheckout() {
 
 
 
-/**
- * Reduces inventory quantity after a checkout.
- * Backend updates the record and returns 200 on success.
- * @async
- * @param {number} warehouseId
- * @param {number} productId
- * @param {number} amount
- * @returns {Promise<void>}
- */
-async function reduceInventory(warehouseId, productId, amount) {
-  try {
-    const response = await fetch("/inventory/reduce", {
-      method: "PUT",
-      credentials: "include",
-      headers: { "Content-Type": "application/json" },
-      body: JSON.stringify({
-        warehouseId,
-        productId,
-        amount
-      })
-    });
-
-    if (response.ok) {
-      showToast("Inventory updated successfully!");
-      loadWarehouses();
-      loadTotalInventoryQuantityAndValue();
-    } else {
-      showToast("Failed to update inventory.");
-    }
-
-  } catch (err) {
-    console.error("Error updating inventory:", err);
-    showToast("Error updating inventory.", 3000);
-  }
-}
-
-
-
 // ============================== SEARCH FILTERING CHECKOUTS SECTION ==============================
 
 /**
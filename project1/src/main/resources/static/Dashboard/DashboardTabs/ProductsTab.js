@@ -105,7 +105,7 @@ async function submitNewProduct() {
       closeCreateProductModal();
       loadProducts();
       loadWarehouses();
-      loadTotalInventoryQuantityAndValue();
+      loadDashboardKpis();
     } 
     else if(response.status === 409){
       showToast("Product with this name already exists.", 3000);
@@ -207,7 +207,7 @@ function openEditProductModal(id, name, category, price, supplierId, totalQuanti
         closeEditProductModal();
         loadProducts();
         loadWarehouses();
-        loadTotalInventoryQuantityAndValue();
+        loadDashboardKpis();
       } else {
         showToast("Failed to update product.", 3000);
       }
@@ -273,7 +273,7 @@ async function confirmDeleteProduct(productId) {
       closeEditProductModal();
       closeDeleteProductModal();
       loadProducts();
-      loadTotalInventoryQuantityAndValue();
+      loadDashboardKpis();
       loadWarehouses();
     } else {
       showToast("Failed to delete product.", 3000);
@@ -208,7 +208,7 @@ async function openRestockModal() {
       });
 
       showToast("Restock created successfully!");
-      loadTotalInventoryQuantityAndValue();
+      loadDashboardKpis();
       closeRestockModal();
       loadRestockOrders();
       loadWarehouses();
@@ -23,6 +23,7 @@ async function loadWarehouses() {
       const row = document.createElement("tr");
       row.setAttribute("onclick", `openWarehouseInventoryModal(${w.warehouseId}, '${w.name}')`);
       row.classList.add("clickable-row");
+      row.dataset.warehouseId = w.warehouseId;
       row.innerHTML = `
       <td>${w.name}</td>
       <td>${w.location}</td>
@@ -124,7 +125,7 @@ document.getElementById("submitEditWarehouseBtn").addEventListener("click", asyn
       showToast("Warehouse updated successfully!");
       closeEditWarehouseModal();
       loadWarehouses();
-      loadTotalInventoryQuantityAndValue();
+      loadDashboardKpis();
     } else {
       showToast("Failed to update warehouse.", 3000);
     }
@@ -256,7 +257,7 @@ document.getElementById("confirmYesBtn").addEventListener("click", async () => {
     for (const wId of selectedWarehouses) {
       await fetch(`/warehouses/delete_warehouse/${wId}`, { method: "DELETE", credentials: "include" });
     }
-    loadTotalInventoryQuantityAndValue();
+    loadDashboardKpis();
     showToast("Selected warehouse(s) deleted successfully!");
     document.getElementById("confirmOverlay").style.display = "none";
     document.getElementById("confirmDeleteBox").style.display = "none";
@@ -368,6 +369,7 @@ async function loadInventoryForWarehouse(warehouseId, warehouseName) {
     const inventory = await response.json();
     const body = document.getElementById("warehouseInventoryTableBody");
     body.innerHTML = "";
+    body.dataset.warehouseId = warehouseId;
 
     if (!inventory.length) {
       body.innerHTML = `<tr><td colspan="6" style="text-align:center;">No inventory found.</td></tr>`;
@@ -381,6 +383,7 @@ async function loadInventoryForWarehouse(warehouseId, warehouseName) {
         `openEditInventoryLocationModal('${i.product.productName}', ${i.inventoryId}, ${warehouseId}, '${warehouseName}', '${i.warehouseLocation || ""}', ${i.minimumStock})`
       );
       row.classList.add("clickable-row");
+      row.dataset.productId = i.product.productId;
 
       const cleanedProductName = i.product.productName
         .replace(/"/g, '&quot;')
@@ -481,7 +484,7 @@ document.getElementById("confirmEditInventoryBtn").addEventListener("click", asy
     if (response.ok) {
       showToast("Inventory location and minimum stock updated successfully!");
       closeEditInventoryAndMinStockLocationModal();
-      loadLowStockCount();
+      loadDashboardKpis();
       loadInventoryForWarehouse(currentWarehouseId, currentWarehouseName);
     } else {
       showToast("Failed to update inventory location.", 3000);
@@ -493,27 +496,6 @@ document.getElementById("confirmEditInventoryBtn").addEventListener("click", asy
 });
 
 
-// ============================== LOW STOCK COUNT ==============================
-
-/**
- * Loads the number of inventory items that are below their minimum stock level
- * and updates the low stock counter on the dashboard.
- * @async
- * @returns {Promise<void>}
- */
-async function loadLowStockCount() {
-  try {
-    const response = await fetch("/inventory/below-minimum", {credentials: "include"});
-    const items = await response.json();
-    const count = items.length;
-    document.getElementById("lowStockValue").innerHTML = `${count} <small>items</small>`;
-  } catch (err) {
-    console.error("Error fetching low-stock count:", err);
-    document.getElementById("lowStockValue").innerHTML = `<span style="color:red;">Error</span>`;
-  }
-}
-
-
 // ============================== TRANSFER INVENTORY SECTION ==============================
 
 let inventoryToTransfer = null;
@@ -521,7 +503,8 @@ let fromWarehouseId = null;
 let transferProductId = null;
 
 /**
- * Opens the transfer inventory modal and loads warehouse list with current stock info.
+ * Opens the transfer inventory modal and loads the product's stock in every warehouse
+ * with a single request.
  * @async
  * @param {number} inventoryId
  * @param {number} fromWarehouse
@@ -538,25 +521,16 @@ async function openTransferInventoryModal(inventoryId, fromWarehouse, productId,
   document.getElementById("transferInventoryTitle").textContent =
     `Transfer Item: ${productName}`;
 
-  const wRes = await fetch("/warehouses", {credentials: "include"});
-  const warehouses = await wRes.json();
+  const response = await fetch(`/inventory/product/${productId}/stock`, {credentials: "include"});
+  const stock = await response.json();
 
   const select = document.getElementById("transferToWarehouseSelect");
-  select.innerHTML = `<option value="">-- Choose A Warehouse --</option>`;
-
-  for (const w of warehouses) {
-    const invRes = await fetch(`/inventory/warehouse/${w.warehouseId}`, {credentials: "include"});
-    const items = await invRes.json();
-
-    const record = items.find(i => i.product.productId === productId);
-    const qty = record ? record.quantity : 0;
-
-    select.innerHTML += `
-      <option value="${w.warehouseId}">
-        ${w.name} — ${qty} In Stock
+  select.innerHTML = `<option value="">-- Choose A Warehouse --</option>` +
+    stock.map(s => `
+      <option value="${s.warehouseId}">
+        ${s.warehouseName} — ${s.quantity} In Stock
       </option>
-    `;
-  }
+    `).join("");
 }
 
 /**
@@ -596,23 +570,25 @@ async function confirmTransferInventory() {
       return;
     }
 
-    const inStock = await checkIfInStock(fromWarehouseId, transferProductId, amount);
-    if (inStock === false){
-      showToast("Insufficient stock to transfer the requested amount.", 3000);
-      return;
-    }
-
-    await fetch(`/inventory/transfer/${inventoryToTransfer}/${newWarehouseId}`, {
+    const response = await fetch(`/inventory/transfer/${inventoryToTransfer}/${newWarehouseId}`, {
       method: "PUT",
       credentials: "include",
       headers: { "Content-Type": "application/json" },
       body: JSON.stringify({ amount: amount })
     });
 
+    if (response.status === 409) {
+      showToast("Insufficient stock to transfer the requested amount.", 3000);
+      return;
+    }
+    if (!response.ok) {
+      showToast("Failed to transfer inventory.", 3000);
+      return;
+    }
+
     closeTransferInventoryModal();
-    loadLowStockCount();
+    loadDashboardKpis();
     loadWarehouses();
-    loadTotalInventoryQuantityAndValue();
     showToast("Inventory transferred successfully!");
     loadInventoryForWarehouse(fromWarehouseId, currentWarehouseName);
   } catch (err) {
@@ -663,8 +639,7 @@ async function confirmDeleteInventoryItem(inventoryId) {
     });
     showToast("Inventory item deleted successfully!");
     document.getElementById("WarehouseInventoryModal").style.display = "none";
-    loadLowStockCount();
-    loadTotalInventoryQuantityAndValue();
+    loadDashboardKpis();
     loadWarehouses();
   } catch (err) {
     console.error("Error deleting inventory item:", err);
@@ -0,0 +1,114 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.project1.dtos.BatchTransferResult;
+import com.skillstorm.project1.dtos.TransferLine;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.InventoryService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Two batch transfers that create the same missing target rows, listed in opposite
+ * orders, run at the same time. Both must complete: the target rows are created in
+ * the same order the rows are later locked in, so neither batch ends up waiting on an
+ * insert the other has not committed. The fixture is committed and deleted afterwards.
+ */
+@SpringBootTest
+class BatchTransferConcurrencyTests {
+
+    private static final int PRODUCTS = 100;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void oppositeOrderBatchesCreatingTheSameTargetsBothComplete() throws Exception {
+        List<Product> products = new ArrayList<>();
+        Warehouse source = transactionTemplate.execute(status -> {
+            Warehouse warehouse = fixtures.warehouse("Batch Source", 100_000);
+            Supplier supplier = fixtures.supplier("Batch Supplier");
+            for (int i = 0; i < PRODUCTS; i++) {
+                Product product = fixtures.product("Batch Part " + i, 1.0, "Parts", supplier);
+                fixtures.inventory(warehouse, product, 100, 0);
+                products.add(product);
+            }
+            return warehouse;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // A fresh target each round, so every line has to create its target row
+                Warehouse target = transactionTemplate.execute(status -> fixtures.warehouse("Batch Target", 100_000));
+                List<TransferLine> forward = new ArrayList<>();
+                for (Product product : products) {
+                    forward.add(new TransferLine(product.getProductId(), source.getWarehouseId(), target.getWarehouseId(), 1));
+                }
+                List<TransferLine> backward = new ArrayList<>(forward);
+                Collections.reverse(backward);
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<BatchTransferResult> first = executor.submit(() -> {
+                    start.await();
+                    return inventoryService.transferInventoryBatch(forward);
+                });
+                Future<BatchTransferResult> second = executor.submit(() -> {
+                    start.await();
+                    return inventoryService.transferInventoryBatch(backward);
+                });
+                start.countDown();
+
+                assertThat(first.get().applied()).as("lines applied by the first batch of round %d", round).isEqualTo(PRODUCTS);
+                assertThat(second.get().applied()).as("lines applied by the second batch of round %d", round).isEqualTo(PRODUCTS);
+                assertThat(jdbcTemplate.queryForList("SELECT quantity FROM inventory WHERE warehouse_id = ?",
+                        Integer.class, target.getWarehouseId()))
+                    .hasSize(PRODUCTS)
+                    .containsOnly(2);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.project1.dtos.RestockOrderView;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.RestockOrderService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Two restocks of a product the warehouse does not stock yet, placed at the same time,
+ * must both succeed and add up in the one inventory row they create between them.
+ * The fixture is committed and deleted afterwards.
+ */
+@SpringBootTest
+class ConcurrentRestockTests {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private RestockOrderService restockOrderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void concurrentFirstRestocksShareOneInventoryRow() throws Exception {
+        Warehouse warehouse = transactionTemplate.execute(status -> fixtures.warehouse("Restock Race", 100_000));
+        Supplier supplier = transactionTemplate.execute(status -> fixtures.supplier("Restock Race Supplier"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                int n = round;
+                Product product = transactionTemplate.execute(status -> fixtures.product("Race Part " + n, 1.0, "Parts", supplier));
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<RestockOrderView> first = executor.submit(() -> {
+                    start.await();
+                    return restockOrderService.createRestockOrder(warehouse.getWarehouseId(), product.getProductId(), 3,
+                            "tester@test.com");
+                });
+                Future<RestockOrderView> second = executor.submit(() -> {
+                    start.await();
+                    return restockOrderService.createRestockOrder(warehouse.getWarehouseId(), product.getProductId(), 4,
+                            "tester@test.com");
+                });
+                start.countDown();
+                first.get();
+                second.get();
+
+                assertThat(jdbcTemplate.queryForList("SELECT quantity FROM inventory WHERE warehouse_id = ? AND product_id = ?",
+                        Integer.class, warehouse.getWarehouseId(), product.getProductId()))
+                    .as("inventory rows after round %d", round)
+                    .containsExactly(7);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks the ETag handling of the collection endpoints: a current tag is answered with
+ * 304 without any SQL, any committed write changes the tag, whether it went through the
+ * services or not, and a rolled-back one does not. Writes that bypass the services are
+ * only heard of through the database's change notifications, so the test waits for those.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    private static final Pattern STATEMENTS = Pattern.compile("db;dur=[0-9.]+;desc=\"([0-9]+) statements");
+
+    private static final long NOTIFY_TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void currentEtagIsNotModifiedWithoutSql() throws Exception {
+        for (String url : new String[] { "/products", "/suppliers", "/warehouses", "/inventory/below-minimum" }) {
+            String etag = etagOf(url);
+
+            MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+
+            Matcher matcher = STATEMENTS.matcher(result.getResponse().getHeader("Server-Timing"));
+            assertThat(matcher.find()).as("statement count for 304 on %s", url).isTrue();
+            assertThat(Integer.parseInt(matcher.group(1))).as("SQL statements for 304 on %s", url).isZero();
+        }
+    }
+
+    @Test
+    void committedWriteChangesEtag() throws Exception {
+        String before = etagOf("/suppliers");
+
+        // Written through the entity manager and plain JDBC, bypassing the services
+        transactionTemplate.executeWithoutResult(status -> fixtures.supplier("ETag Supplier"));
+        String created = awaitEtagChange("/suppliers", before);
+        mockMvc.perform(get("/suppliers").header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk());
+
+        fixtures.deleteAll(jdbcTemplate);
+        awaitEtagChange("/suppliers", created);
+    }
+
+    @Test
+    void rolledBackWriteKeepsEtag() throws Exception {
+        String before = etagOf("/warehouses");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            fixtures.warehouse("ETag Rolled Back");
+            fixtures.flushAndClear();
+            status.setRollbackOnly();
+        });
+
+        // Notifications arrive in commit order, so once a later committed write is heard the
+        // rolled-back one would have been too; only the committed one may move the version
+        transactionTemplate.executeWithoutResult(status -> fixtures.warehouse("ETag Committed"));
+        String[] versions = before.replace("\"", "").split("-");
+        versions[1] = Long.toString(Long.parseLong(versions[1]) + 1);
+        assertThat(awaitEtagChange("/warehouses", before)).isEqualTo("\"" + String.join("-", versions) + "\"");
+    }
+
+    private String awaitEtagChange(String url, String previous) throws Exception {
+        long deadline = System.currentTimeMillis() + NOTIFY_TIMEOUT_MILLIS;
+        String etag = etagOf(url);
+        while (etag.equals(previous) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            etag = etagOf(url);
+        }
+        assertThat(etag).as("ETag of %s after a committed write", url).isNotEqualTo(previous);
+        return etag;
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
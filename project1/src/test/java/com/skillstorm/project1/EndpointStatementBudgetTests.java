@@ -0,0 +1,309 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.project1.models.Inventory;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Statement budget for every endpoint of the inventory, warehouse, checkout, restock,
+ * product and supplier controllers. Each request is counted from its {@code Server-Timing}
+ * header, which includes {@code JdbcTemplate} and COPY traffic as well as Hibernate's,
+ * with the caches cleared first so the budget covers a cold read. A new lazy association
+ * or a derived query inside a loop pushes an endpoint over its budget and fails the build.
+ * <p>
+ * The fixture is committed rather than rolled back, so each request runs and commits its
+ * own transaction as in production and statements flushed at commit are counted too.
+ * Everything named with the test's suffix is deleted afterwards. Endpoints that insert
+ * through JPA are allowed one more statement for the sequence call Hibernate makes when
+ * its block of pooled IDs runs out.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointStatementBudgetTests {
+
+    private static final Pattern STATEMENTS = Pattern.compile("db;dur=[0-9.]+;desc=\"([0-9]+) statements");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private TestFixtures fixtures;
+    private String suffix;
+    private Warehouse warehouse;
+    private Warehouse target;
+    private Warehouse spareWarehouse;
+    private Supplier supplier;
+    private Supplier spareSupplier;
+    private Product product;
+    private Product other;
+    private Product spareProduct;
+    private Inventory inventory;
+
+    @BeforeEach
+    void seed() {
+        fixtures = new TestFixtures(entityManager);
+        suffix = fixtures.suffix();
+        transactionTemplate.executeWithoutResult(status -> {
+            warehouse = fixtures.warehouse("Budget");
+            target = fixtures.warehouse("Budget Target");
+            spareWarehouse = fixtures.warehouse("Budget Spare");
+            supplier = fixtures.supplier("Budget Supplier");
+            Supplier second = fixtures.supplier("Budget Supplier B");
+            spareSupplier = fixtures.supplier("Budget Spare");
+
+            product = fixtures.product("Bolt", 1.0, "Parts", supplier);
+            other = fixtures.product("Nut", 0.5, "Parts", second);
+            Product third = fixtures.product("Hammer", 10.0, "Tools", second);
+            spareProduct = fixtures.product("Spare", 2.0, "Tools", supplier);
+
+            for (Product p : new Product[] { product, other, third }) {
+                // The second product starts below its minimum
+                Inventory row = fixtures.inventory(warehouse, p, p == other ? 2 : 10, 5);
+                if (inventory == null) {
+                    inventory = row;
+                }
+                fixtures.inventory(target, p, 10, 5);
+                fixtures.checkout(warehouse, p);
+                fixtures.restockOrder(warehouse, p, 5);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll(jdbcTemplate);
+    }
+
+    // ==============================================
+    // INVENTORY
+    // ==============================================
+
+    @Test
+    void inventoryReads() throws Exception {
+        assertStatements(get("/inventory"), 1);
+        assertStatements(get("/inventory/" + inventory.getInventoryId()), 1);
+        assertStatements(get("/inventory/warehouse/" + warehouse.getWarehouseId()), 1);
+        assertStatements(get("/inventory/product/" + product.getProductId()), 1);
+        assertStatements(get("/inventory/changes?since=0&warehouseId=" + warehouse.getWarehouseId()), 3);
+        assertStatements(get("/inventory/product/" + product.getProductId() + "/stock"), 1);
+        assertStatements(get("/inventory/stock?productIds=" + product.getProductId() + "," + other.getProductId()), 1);
+        assertStatements(get("/inventory/below-minimum"), 1);
+        assertStatements(get("/inventory/below-minimum/count"), 1);
+        assertStatements(get("/inventory/events"), 0);
+    }
+
+    @Test
+    void inventoryCreate() throws Exception {
+        assertStatements(post("/inventory").contentType(MediaType.APPLICATION_JSON)
+                .content(json("warehouseId", spareWarehouse.getWarehouseId(), "productId", spareProduct.getProductId(),
+                        "quantity", 4, "minimumStock", 5, "warehouseLocation", 2)), 3);
+    }
+
+    @Test
+    void inventoryImport() throws Exception {
+        String csv = "warehouseId,productId,quantity,minimumStock,warehouseLocation\n"
+                + target.getWarehouseId() + "," + spareProduct.getProductId() + ",5,1,3\n"
+                + warehouse.getWarehouseId() + "," + product.getProductId() + ",7,1,1\n";
+        assertStatements(post("/inventory/import").contentType("text/csv").content(csv), 4);
+    }
+
+    @Test
+    void inventoryReduce() throws Exception {
+        assertStatements(put("/inventory/reduce").contentType(MediaType.APPLICATION_JSON)
+                .content(json("warehouseId", warehouse.getWarehouseId(), "productId", product.getProductId(), "amount", 6)), 1);
+    }
+
+    @Test
+    void inventoryDelete() throws Exception {
+        assertStatements(delete("/inventory/delete/" + inventory.getInventoryId()), 3);
+    }
+
+    @Test
+    void inventoryTransfer() throws Exception {
+        assertStatements(put("/inventory/transfer/" + inventory.getInventoryId() + "/" + target.getWarehouseId())
+                .contentType(MediaType.APPLICATION_JSON).content(json("amount", 2)), 8);
+    }
+
+    @Test
+    void inventoryBatchTransfer() throws Exception {
+        String lines = "[" + transferLine(product) + "," + transferLine(other) + "]";
+        assertStatements(post("/inventory/transfer/batch").contentType(MediaType.APPLICATION_JSON).content(lines), 5);
+    }
+
+    @Test
+    void inventoryLocationUpdate() throws Exception {
+        assertStatements(put("/inventory/update_locationAndMinStock/" + inventory.getInventoryId())
+                .contentType(MediaType.APPLICATION_JSON).content(json("warehouseLocation", 4, "minimumStock", 3)), 1);
+    }
+
+    // ==============================================
+    // WAREHOUSES
+    // ==============================================
+
+    @Test
+    void warehouseReads() throws Exception {
+        assertStatements(get("/warehouses"), 1);
+        assertStatements(get("/warehouses/" + warehouse.getWarehouseId()), 1);
+    }
+
+    @Test
+    void warehouseWrites() throws Exception {
+        assertStatements(post("/warehouses/create_warehouse").contentType(MediaType.APPLICATION_JSON)
+                .content(json("name", "Budget New " + suffix, "location", "Test", "capacity", 50)), 2);
+        assertStatements(put("/warehouses/edit_warehouse/" + warehouse.getWarehouseId()).contentType(MediaType.APPLICATION_JSON)
+                .content(json("name", "Budget Renamed " + suffix, "location", "Test", "capacity", 2000)), 2);
+        assertStatements(delete("/warehouses/delete_warehouse/" + spareWarehouse.getWarehouseId()), 4);
+    }
+
+    // ==============================================
+    // CHECKOUTS
+    // ==============================================
+
+    @Test
+    void checkoutReads() throws Exception {
+        assertStatements(get("/checkouts"), 1);
+        assertStatements(get("/checkouts/page?size=2&warehouseId=" + warehouse.getWarehouseId()), 1);
+    }
+
+    @Test
+    void checkoutCreate() throws Exception {
+        assertStatements(post("/checkouts/create_checkout").contentType(MediaType.APPLICATION_JSON)
+                .content(json("warehouseId", warehouse.getWarehouseId(), "productId", product.getProductId(),
+                        "amount", 1, "email", "tester@test.com")), 3);
+    }
+
+    // ==============================================
+    // RESTOCK ORDERS
+    // ==============================================
+
+    @Test
+    void restockReads() throws Exception {
+        assertStatements(get("/restocks"), 1);
+        assertStatements(get("/restocks/warehouse/" + warehouse.getWarehouseId()), 1);
+    }
+
+    @Test
+    void restockCreate() throws Exception {
+        assertStatements(post("/restocks/create_restock").contentType(MediaType.APPLICATION_JSON)
+                .content(json("warehouseId", warehouse.getWarehouseId(), "productId", product.getProductId(),
+                        "amount", 5, "orderedBy", "tester@test.com")), 5);
+    }
+
+    // ==============================================
+    // PRODUCTS
+    // ==============================================
+
+    @Test
+    void productReads() throws Exception {
+        assertStatements(get("/products"), 1);
+        assertStatements(get("/products/" + product.getProductId()), 1);
+    }
+
+    @Test
+    void productWrites() throws Exception {
+        assertStatements(post("/products/create_product").contentType(MediaType.APPLICATION_JSON)
+                .content(json("productName", "Washer " + suffix, "price", 0.25, "category", "Parts",
+                        "supplierId", supplier.getSupplierId())), 4);
+        assertStatements(put("/products/" + product.getProductId()).contentType(MediaType.APPLICATION_JSON)
+                .content(json("productName", "Bolt M8 " + suffix, "price", 1.5, "category", "Parts")), 2);
+        assertStatements(put("/products/edit_product/" + other.getProductId()).contentType(MediaType.APPLICATION_JSON)
+                .content(json("productName", "Nut M8 " + suffix, "category", "Parts", "price", 0.75,
+                        "supplierId", supplier.getSupplierId())), 3);
+        assertStatements(delete("/products/delete/" + spareProduct.getProductId()), 3);
+    }
+
+    // ==============================================
+    // SUPPLIERS
+    // ==============================================
+
+    @Test
+    void supplierReads() throws Exception {
+        assertStatements(get("/suppliers"), 1);
+        assertStatements(get("/suppliers/" + supplier.getSupplierId()), 1);
+    }
+
+    @Test
+    void supplierWrites() throws Exception {
+        assertStatements(post("/suppliers/create_supplier").contentType(MediaType.APPLICATION_JSON)
+                .content(json("name", "Budget New " + suffix, "contactEmail", "n@test.com", "phone", "555-0109",
+                        "address", "9 Test St")), 3);
+        assertStatements(put("/suppliers/edit_supplier/" + supplier.getSupplierId()).contentType(MediaType.APPLICATION_JSON)
+                .content(json("name", "Budget Renamed " + suffix, "contactEmail", "r@test.com", "phone", "555-0110",
+                        "address", "10 Test St")), 2);
+        assertStatements(delete("/suppliers/delete/" + spareSupplier.getSupplierId()), 2);
+    }
+
+    /**
+     * Sends a request with every cache empty and checks that it succeeds within the
+     * given number of JDBC statements.
+     */
+    private void assertStatements(MockHttpServletRequestBuilder request, int maxStatements) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        MvcResult response = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+        String label = response.getRequest().getMethod() + " " + response.getRequest().getRequestURI();
+        String timing = response.getResponse().getHeader("Server-Timing");
+        assertThat(timing).as("Server-Timing for %s", label).isNotNull();
+
+        Matcher matcher = STATEMENTS.matcher(timing);
+        assertThat(matcher.find()).as("statement count for %s in %s", label, timing).isTrue();
+        assertThat(Integer.parseInt(matcher.group(1)))
+            .as("SQL statements for %s", label)
+            .isLessThanOrEqualTo(maxStatements);
+    }
+
+    private String transferLine(Product p) {
+        return json("productId", p.getProductId(), "sourceWarehouseId", warehouse.getWarehouseId(),
+                "targetWarehouseId", target.getWarehouseId(), "amount", 1);
+    }
+
+    /** Builds a flat JSON object from alternating names and values. */
+    private static String json(Object... pairs) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            Object value = pairs[i + 1];
+            json.append(i == 0 ? "" : ",").append('"').append(pairs[i]).append("\":")
+                .append(value instanceof String ? "\"" + value + "\"" : value);
+        }
+        return json.append('}').toString();
+    }
+}
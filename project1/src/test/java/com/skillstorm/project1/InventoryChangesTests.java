@@ -0,0 +1,89 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.project1.dtos.InventoryChanges;
+import com.skillstorm.project1.dtos.InventoryView;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.InventoryService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks the delta-sync endpoint's service: only rows written after the cursor are
+ * returned, deletes come back as tombstones, and the warehouse filter applies to both.
+ */
+@SpringBootTest
+@Transactional
+class InventoryChangesTests {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long cursor;
+    private Warehouse warehouse;
+    private Product product;
+    private Product other;
+
+    @BeforeEach
+    void seed() {
+        // Taken before this transaction writes anything, so its writes are all newer
+        cursor = inventoryService.getChangeHorizon();
+
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        warehouse = fixtures.warehouse("Changes");
+        Supplier supplier = fixtures.supplier("Changes Supplier");
+        product = fixtures.product("Sprocket", 1.5, "Parts", supplier);
+        other = fixtures.product("Cog", 2.5, "Parts", supplier);
+        fixtures.inventory(warehouse, product, 10, 0);
+        fixtures.inventory(warehouse, other, 10, 0);
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    void returnsOnlyRowsWrittenSinceCursor() {
+        inventoryService.reduceInventory(warehouse.getWarehouseId(), product.getProductId(), 4);
+
+        InventoryChanges changes = inventoryService.getChangesSince(cursor, null);
+
+        assertThat(changes.changed())
+            .extracting(view -> view.product().productId())
+            .containsExactlyInAnyOrder(product.getProductId(), other.getProductId());
+        assertThat(changes.changed())
+            .filteredOn(view -> view.product().productId().equals(product.getProductId()))
+            .extracting(InventoryView::quantity)
+            .containsExactly(6);
+        assertThat(changes.version()).isGreaterThanOrEqualTo(cursor);
+    }
+
+    @Test
+    void deletedRowsAreReturnedAsTombstones() {
+        Long inventoryId = inventoryService
+                .getInventoryByWarehouseAndProduct(warehouse.getWarehouseId(), other.getProductId())
+                .getInventoryId();
+        inventoryService.deleteInventory(inventoryId);
+        entityManager.flush();
+
+        InventoryChanges changes = inventoryService.getChangesSince(cursor, warehouse.getWarehouseId());
+
+        assertThat(changes.deleted()).containsExactly(inventoryId);
+        assertThat(changes.changed())
+            .extracting(InventoryView::inventoryId)
+            .doesNotContain(inventoryId);
+        assertThat(inventoryService.getChangesSince(cursor, warehouse.getWarehouseId() + 1_000_000).deleted())
+            .isEqualTo(List.of());
+    }
+}
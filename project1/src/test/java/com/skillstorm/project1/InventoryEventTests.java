@@ -0,0 +1,120 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.project1.dtos.InventoryEvent;
+import com.skillstorm.project1.dtos.InventoryEvent.Type;
+import com.skillstorm.project1.dtos.InventoryView;
+import com.skillstorm.project1.dtos.NewInventory;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.InventoryService;
+import com.skillstorm.project1.services.RestockOrderService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks the inventory events raised by the stock write paths, including the low-stock
+ * transitions derived from the quantity and minimum returned by the update.
+ */
+@SpringBootTest
+@RecordApplicationEvents
+@Transactional
+class InventoryEventTests {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private RestockOrderService restockOrderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Long warehouseId;
+    private Long productId;
+
+    @BeforeEach
+    void seed() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        Warehouse warehouse = fixtures.warehouse("Events");
+        Product product = fixtures.product("Gadget", 3.0, "Parts", fixtures.supplier("Events Supplier"));
+        fixtures.inventory(warehouse, product, 10, 5);
+        fixtures.flushAndClear();
+
+        warehouseId = warehouse.getWarehouseId();
+        productId = product.getProductId();
+    }
+
+    @Test
+    void stockChangesAnnounceLowStockTransitions() {
+        inventoryService.reduceInventory(warehouseId, productId, 6);
+        restockOrderService.createRestockOrder(warehouseId, productId, 1, "tester@test.com");
+        restockOrderService.createRestockOrder(warehouseId, productId, 2, "tester@test.com");
+
+        assertThat(events.stream(InventoryEvent.class))
+            .extracting(InventoryEvent::type, InventoryEvent::delta, InventoryEvent::quantity)
+            .containsExactly(
+                tuple(Type.STOCK, -6, 4),
+                tuple(Type.LOW_STOCK, null, 4),
+                tuple(Type.RESTOCK, 1, 5),
+                tuple(Type.LOW_STOCK_CLEARED, null, 5),
+                tuple(Type.RESTOCK, 2, 7));
+    }
+
+    @Test
+    void newRowsOnlyAnnounceLowStockWhenTheyStartBelowTheirMinimum() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        Long lowId = fixtures.product("Low", 1.0, "Parts", null).getProductId();
+        Long stockedId = fixtures.product("Stocked", 1.0, "Parts", null).getProductId();
+        fixtures.flushAndClear();
+
+        inventoryService.createInventory(new NewInventory(warehouseId, lowId, 2, 5, 1));
+        inventoryService.createInventory(new NewInventory(warehouseId, stockedId, 8, 5, 2));
+
+        assertThat(events.stream(InventoryEvent.class))
+            .extracting(InventoryEvent::type, InventoryEvent::productId, InventoryEvent::delta, InventoryEvent::quantity)
+            .containsExactly(
+                tuple(Type.STOCK, lowId, 2, 2),
+                tuple(Type.LOW_STOCK, lowId, null, 2),
+                tuple(Type.STOCK, stockedId, 8, 8));
+    }
+
+    @Test
+    void minimumChangesKeepTheQuantityAndAnnounceTransitions() {
+        Long inventoryId = inventoryService.getInventoryByWarehouseAndProduct(warehouseId, productId).getInventoryId();
+
+        inventoryService.updateInventoryLocationAndMinStock(inventoryId, 4, 12);
+        inventoryService.updateInventoryLocationAndMinStock(inventoryId, 4, 11);
+        inventoryService.updateInventoryLocationAndMinStock(inventoryId, 4, 3);
+
+        assertThat(events.stream(InventoryEvent.class))
+            .extracting(InventoryEvent::type, InventoryEvent::quantity)
+            .containsExactly(tuple(Type.LOW_STOCK, 10), tuple(Type.LOW_STOCK_CLEARED, 10));
+        assertThat(inventoryService.getInventoryById(inventoryId))
+            .get()
+            .extracting(InventoryView::quantity, InventoryView::minimumStock, InventoryView::warehouseLocation)
+            .containsExactly(10, 3, 4);
+    }
+
+    @Test
+    void rejectedReductionRaisesNothing() {
+        assertThatThrownBy(() -> inventoryService.reduceInventory(warehouseId, productId, 11))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(events.stream(InventoryEvent.class)).isEmpty();
+    }
+}
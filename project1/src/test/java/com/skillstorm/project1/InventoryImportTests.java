@@ -0,0 +1,94 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.project1.dtos.ImportResult;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.repositories.InventoryRepository;
+import com.skillstorm.project1.services.InventoryImportService;
+import com.skillstorm.project1.services.InventoryImportService.Format;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks CSV parsing of the bulk import: quoted fields may hold commas, quotes and line
+ * breaks, rejected rows are reported with the line they start on, and broken quoting
+ * stops the import at the broken row.
+ */
+@SpringBootTest
+@Transactional
+class InventoryImportTests {
+
+    @Autowired
+    private InventoryImportService importService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Warehouse warehouse;
+    private Product first;
+    private Product second;
+    private Product third;
+
+    @BeforeEach
+    void seed() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        warehouse = fixtures.warehouse("Import");
+        Supplier supplier = fixtures.supplier("Import Supplier");
+        first = fixtures.product("Bracket", 1.0, "Parts", supplier);
+        second = fixtures.product("Hinge", 1.0, "Parts", supplier);
+        third = fixtures.product("Latch", 1.0, "Parts", supplier);
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() throws Exception {
+        long w = warehouse.getWarehouseId();
+        String csv = "warehouse_id,note,product_id,quantity\n"
+                + w + ",\"Aisle 3, top shelf\"," + first.getProductId() + ",5\n"
+                + "\n"
+                + "\"" + w + "\",\"the \"\"good\"\" bin\",\"" + second.getProductId() + "\",\" 7 \"\n"
+                + w + ",\"spans\ntwo lines\"," + third.getProductId() + ",lots\n";
+
+        ImportResult result = importService.importInventory(stream(csv), Format.CSV);
+
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.rejectSamples()).containsExactly("line 5: invalid quantity 'lots'");
+        assertThat(inventoryRepository.findByWarehouse_WarehouseIdAndProduct_ProductId(w, first.getProductId()).getQuantity())
+            .isEqualTo(5);
+        assertThat(inventoryRepository.findByWarehouse_WarehouseIdAndProduct_ProductId(w, second.getProductId()).getQuantity())
+            .isEqualTo(7);
+    }
+
+    @Test
+    void brokenQuotingStopsAtTheBrokenRow() throws Exception {
+        long w = warehouse.getWarehouseId();
+        String csv = w + "," + first.getProductId() + ",5\n"
+                + w + ",\"" + second.getProductId() + ",6\n"
+                + w + "," + third.getProductId() + ",7\n";
+
+        ImportResult result = importService.importInventory(stream(csv), Format.CSV);
+
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.rejectSamples()).singleElement().asString().contains("malformed CSV");
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
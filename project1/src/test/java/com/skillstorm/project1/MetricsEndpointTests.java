@@ -0,0 +1,48 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.skillstorm.project1.services.WarehouseService;
+
+/**
+ * Checks that the Prometheus endpoint publishes the endpoint, service, repository,
+ * connection pool and Hibernate meters once the application has served a request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void prometheusScrapeCoversEveryLayer() throws Exception {
+        cacheManager.getCache(WarehouseService.TOTALS_CACHE).clear();
+        mockMvc.perform(get("/warehouses")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+            .containsPattern("http_server_requests_seconds_bucket\\{[^}]*uri=\"/warehouses\"")
+            .containsPattern("stocksmart_service_seconds_bucket\\{[^}]*method=\"findAllWarehousesWithTotals\"")
+            .contains("spring_data_repository_invocations_seconds_bucket{")
+            .contains("hikaricp_connections_active{")
+            .contains("hibernate_statements_total{");
+    }
+}
@@ -0,0 +1,62 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.skillstorm.project1.config.IdGenerationConfig;
+
+/**
+ * Checks the startup migration of the pooled ID sequences against the live schema: the
+ * columns derived from the entity annotations default to their sequences, and a changed
+ * allocation size is refused unless forced.
+ */
+@SpringBootTest
+class PooledSequenceMigrationTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idColumnsDefaultToTheirPooledSequences() {
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT table_name || '.' || column_name || '=' || column_default FROM information_schema.columns
+                 WHERE table_schema = current_schema() AND column_default LIKE 'nextval(%'
+                """, String.class))
+            .contains("inventory.inventory_id=nextval('inventory_inventory_id_seq'::regclass)",
+                      "inventory_transfers.transfer_id=nextval('inventory_transfers_transfer_id_seq'::regclass)",
+                      "restock_orders.restock_id=nextval('restock_orders_restock_id_seq'::regclass)");
+    }
+
+    @Test
+    void changedAllocationSizeIsRefusedUnlessForced() throws Exception {
+        IdGenerationConfig config = new IdGenerationConfig();
+
+        assertThatThrownBy(() -> config.pooledSequenceMigration(dataSource, 25, false).afterPropertiesSet())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("stocksmart.id.force-allocation-size");
+        assertThat(increment("products_product_id_seq")).isEqualTo(50);
+
+        config.pooledSequenceMigration(dataSource, 50, false).afterPropertiesSet();
+        try {
+            config.pooledSequenceMigration(dataSource, 25, true).afterPropertiesSet();
+            assertThat(increment("products_product_id_seq")).isEqualTo(25);
+        } finally {
+            config.pooledSequenceMigration(dataSource, 50, true).afterPropertiesSet();
+        }
+    }
+
+    private long increment(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT increment_by FROM pg_sequences WHERE sequencename = ?",
+                Long.class, sequence);
+    }
+}
@@ -0,0 +1,123 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.ProductService;
+import com.skillstorm.project1.services.RestockOrderService;
+import com.skillstorm.project1.services.SupplierService;
+import com.skillstorm.project1.services.WarehouseService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that product, supplier and warehouse reads are served from the cache, that the
+ * writes which change them evict the affected entries, and that placing a restock order
+ * does not query reference data once it is cached.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ReferenceDataCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private RestockOrderService restockOrderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Warehouse warehouse;
+    private Supplier supplier;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        warehouse = fixtures.warehouse("Cache");
+        supplier = fixtures.supplier("Cache Supplier");
+        product = fixtures.product("Widget", 2.0, "Parts", supplier);
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        productService.getProductById(product.getProductId());
+        warehouseService.getWarehouseById(warehouse.getWarehouseId());
+        supplierService.getSupplierViewById(supplier.getSupplierId());
+
+        statistics.clear();
+        productService.getProductById(product.getProductId());
+        warehouseService.getWarehouseById(warehouse.getWarehouseId());
+        supplierService.getSupplierViewById(supplier.getSupplierId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void editingAProductEvictsIt() {
+        productService.getProductById(product.getProductId());
+
+        productService.editProduct(product.getProductId(), "Renamed", "Parts", 3.0, supplier.getSupplierId());
+
+        assertThat(productService.getProductById(product.getProductId()))
+            .hasValueSatisfying(view -> assertThat(view.productName()).isEqualTo("Renamed"));
+    }
+
+    @Test
+    void editingASupplierEvictsProductsThatEmbedIt() {
+        productService.getProductById(product.getProductId());
+
+        supplierService.editSupplier(supplier.getSupplierId(), "Renamed Supplier", "c@test.com", "555-0102", "3 Test St");
+
+        assertThat(productService.getProductById(product.getProductId()))
+            .hasValueSatisfying(view -> assertThat(view.supplier().name()).isEqualTo("Renamed Supplier"));
+    }
+
+    @Test
+    void editingAWarehouseEvictsIt() {
+        warehouseService.getWarehouseById(warehouse.getWarehouseId());
+
+        warehouseService.editWarehouse(warehouse.getWarehouseId(), "Renamed Warehouse", "Test", 1000);
+
+        assertThat(warehouseService.getWarehouseById(warehouse.getWarehouseId()).name()).isEqualTo("Renamed Warehouse");
+    }
+
+    @Test
+    void restockWithCachedReferenceDataOnlyWritesInventoryAndOrder() {
+        productService.getProductById(product.getProductId());
+        warehouseService.getWarehouseById(warehouse.getWarehouseId());
+        restockOrderService.createRestockOrder(warehouse.getWarehouseId(), product.getProductId(), 5, "tester@test.com");
+        entityManager.flush();
+
+        statistics.clear();
+        restockOrderService.createRestockOrder(warehouse.getWarehouseId(), product.getProductId(), 5, "tester@test.com");
+        entityManager.flush();
+
+        // UPDATE ... RETURNING on the existing inventory row, INSERT of the order
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,147 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.skillstorm.project1.services.ReferenceIdGenerator;
+
+/**
+ * Stress and edge-case checks for the reference ID generator: many threads on several
+ * nodes never receive the same ID, each thread sees increasing IDs, and bursts within one
+ * millisecond or a clock stepping backwards do not break either property.
+ */
+class ReferenceIdGeneratorTests {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void concurrentCallsOnSeveralNodesNeverCollide() throws Exception {
+        ReferenceIdGenerator[] nodes = {
+            new ReferenceIdGenerator(0, Clock.systemUTC()),
+            new ReferenceIdGenerator(7, Clock.systemUTC()),
+            new ReferenceIdGenerator(ReferenceIdGenerator.MAX_NODE_ID, Clock.systemUTC())
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                ReferenceIdGenerator generator = nodes[t % nodes.length];
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                long[] ids = results.get(t).get();
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).as("ID %d of thread %d", i, t).isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+            }
+            assertThat(Arrays.stream(all).distinct().count()).isEqualTo(all.length);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void burstWithinOneMillisecondStaysUniqueAndOrdered() {
+        Clock frozen = Clock.fixed(Instant.parse("2026-03-01T12:00:00Z"), ZoneOffset.UTC);
+        ReferenceIdGenerator generator = new ReferenceIdGenerator(3, frozen);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(ReferenceIdGenerator.nodeOf(id)).isEqualTo(3);
+            previous = id;
+        }
+        // 256 IDs per millisecond: the burst has run 39 ms ahead of the clock
+        assertThat(ReferenceIdGenerator.timestampOf(previous)).isEqualTo(Instant.parse("2026-03-01T12:00:00.039Z"));
+    }
+
+    @Test
+    void clockSteppingBackwardsKeepsIdsIncreasingWithinTheRunAhead() {
+        AtomicLong millis = new AtomicLong(Instant.parse("2026-03-01T12:00:00Z").toEpochMilli());
+        Clock clock = new Clock() {
+            @Override
+            public long millis() {
+                return millis.get();
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis());
+            }
+
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        ReferenceIdGenerator generator = new ReferenceIdGenerator(1, clock);
+
+        long before = generator.nextId();
+        millis.addAndGet(-500);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(ReferenceIdGenerator.timestampOf(after)).isEqualTo(ReferenceIdGenerator.timestampOf(before));
+
+        // Further back than the run-ahead a new holder of the node ID waits out: refused
+        millis.addAndGet(-ReferenceIdGenerator.MAX_RUN_AHEAD_MILLIS);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+        millis.addAndGet(ReferenceIdGenerator.MAX_RUN_AHEAD_MILLIS);
+        assertThat(generator.nextId()).isGreaterThan(after);
+    }
+
+    @Test
+    void idsEncodeTimeAndNodeAndStayJavaScriptSafe() {
+        Instant now = Instant.parse("2094-01-01T00:00:00Z");
+        ReferenceIdGenerator generator = new ReferenceIdGenerator(ReferenceIdGenerator.MAX_NODE_ID,
+                Clock.fixed(now, ZoneOffset.UTC));
+
+        long id = generator.nextId();
+
+        assertThat(id).isPositive().isLessThanOrEqualTo((1L << 53) - 1);
+        assertThat(ReferenceIdGenerator.timestampOf(id)).isEqualTo(now);
+        assertThat(ReferenceIdGenerator.nodeOf(id)).isEqualTo(ReferenceIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new ReferenceIdGenerator(ReferenceIdGenerator.MAX_NODE_ID + 1, Clock.systemUTC()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ReferenceIdGenerator(-1, Clock.systemUTC()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
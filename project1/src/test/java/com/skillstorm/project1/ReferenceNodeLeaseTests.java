@@ -0,0 +1,130 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.skillstorm.project1.config.ReferenceIdConfig;
+import com.skillstorm.project1.config.ReferenceIdConfig.NodeLease;
+import com.skillstorm.project1.services.ReferenceIdGenerator;
+
+/**
+ * When another lease takes over this context's node ID, the two never issue overlapping
+ * IDs: the old holder stops before the new one starts, and this context waits again once
+ * it re-acquires the node. Running out of node IDs names the connections holding them.
+ */
+@SpringBootTest
+class ReferenceNodeLeaseTests {
+
+    @Autowired
+    private NodeLease nodeLease;
+
+    @Autowired
+    private ReferenceIdGenerator referenceIds;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void takenOverNodeIdNeverIssuesOverlappingIds() throws Exception {
+        ReferenceIdConfig config = new ReferenceIdConfig();
+        NodeLease intruder = takeOver(config);
+        // Outside the context nothing schedules the intruder's checks
+        ScheduledExecutorService checks = Executors.newSingleThreadScheduledExecutor();
+        checks.scheduleWithFixedDelay(intruder::check, 500, 500, TimeUnit.MILLISECONDS);
+        List<Long> before = new ArrayList<>();
+        long intruderId;
+        try {
+            ReferenceIdGenerator intruderIds = new ReferenceIdGenerator(nodeLease.nodeId(), Clock.systemUTC(), intruder);
+
+            // The old holder may finish its lease, but stops before the new one starts
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (true) {
+                try {
+                    before.add(referenceIds.nextId());
+                } catch (IllegalStateException e) {
+                    break;
+                }
+                assertThat(System.nanoTime()).as("old holder still issuing").isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            assertThat(nodeLease.isHeld()).isFalse();
+
+            intruderId = intruderIds.nextId();
+            assertThat(before).allSatisfy(id -> assertThat(id).isLessThan(intruderId));
+        } finally {
+            checks.shutdownNow();
+            intruder.close();
+        }
+
+        nodeLease.check();
+        assertThat(nodeLease.isHeld()).isTrue();
+        long after = referenceIds.nextId();
+        assertThat(ReferenceIdGenerator.nodeOf(after)).isEqualTo(nodeLease.nodeId());
+        assertThat(after).isGreaterThan(intruderId);
+    }
+
+    @Test
+    void exhaustedNodeIdsNameTheirHolders() throws Exception {
+        ReferenceIdConfig config = new ReferenceIdConfig();
+        List<NodeLease> leases = new ArrayList<>();
+        try {
+            assertThatThrownBy(() -> {
+                while (leases.size() <= ReferenceIdGenerator.MAX_NODE_ID) {
+                    leases.add(config.referenceNodeLease(dataSourceProperties, -1));
+                }
+            })
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("All 16 reference node IDs are in use: node 0: pid ")
+                .hasMessageContaining("node " + nodeLease.nodeId() + ": pid ");
+        } finally {
+            for (NodeLease lease : leases) {
+                lease.close();
+            }
+        }
+    }
+
+    /**
+     * Kills the connection holding this context's node ID and takes the ID with a new lease
+     * before the scheduled check can re-acquire it.
+     */
+    private NodeLease takeOver(ReferenceIdConfig config) throws Exception {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            jdbcTemplate.queryForList("""
+                    SELECT pg_terminate_backend(pid) FROM pg_locks
+                     WHERE locktype = 'advisory' AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 2
+                    """, ReferenceIdConfig.NODE_LOCK_KEY, nodeLease.nodeId());
+            for (int wait = 0; wait < 100 && isLocked(); wait++) {
+                Thread.sleep(5);
+            }
+            try {
+                return config.referenceNodeLease(dataSourceProperties, nodeLease.nodeId());
+            } catch (IllegalStateException e) {
+                // The scheduled check got there first
+            }
+        }
+        throw new AssertionError("Could not take over reference node " + nodeLease.nodeId());
+    }
+
+    private boolean isLocked() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_locks
+                                WHERE locktype = 'advisory' AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 2)
+                """, Boolean.class, ReferenceIdConfig.NODE_LOCK_KEY, nodeLease.nodeId()));
+    }
+}
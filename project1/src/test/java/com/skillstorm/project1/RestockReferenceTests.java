@@ -0,0 +1,57 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.project1.config.ReferenceIdConfig.NodeLease;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.Warehouse;
+import com.skillstorm.project1.services.ReferenceIdGenerator;
+import com.skillstorm.project1.services.RestockOrderService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Restock orders placed back to back, many within the same millisecond, each get their
+ * own restock ref, issued by this instance's node, and all of them can be written.
+ */
+@SpringBootTest
+@Transactional
+class RestockReferenceTests {
+
+    @Autowired
+    private RestockOrderService restockOrderService;
+
+    @Autowired
+    private NodeLease nodeLease;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void rapidRestocksGetDistinctRefs() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        Warehouse warehouse = fixtures.warehouse("Refs", 100_000);
+        Product product = fixtures.product("Washer", 0.1, "Parts", fixtures.supplier("Refs Supplier"));
+        fixtures.inventory(warehouse, product, 0, 0);
+        entityManager.flush();
+
+        List<Long> refs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            refs.add(restockOrderService.createRestockOrder(warehouse.getWarehouseId(), product.getProductId(), 1,
+                    "tester@test.com").restockRef());
+        }
+        // Writes the orders; duplicate refs would violate the unique constraint here
+        entityManager.flush();
+
+        assertThat(refs).doesNotHaveDuplicates().isSorted();
+        assertThat(refs).allSatisfy(ref -> assertThat(ReferenceIdGenerator.nodeOf(ref)).isEqualTo(nodeLease.nodeId()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.skillstorm.project1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.skillstorm.project1.services.WarehouseService;
+
+/**
+ * Checks the per-request SQL accounting: controller responses carry a Server-Timing header
+ * with the statements they ran, the log line adds the time spent writing the body, requests
+ * over the statement threshold (zero here) are flagged in the header and logged at WARN,
+ * and static resources are not reported.
+ */
+@SpringBootTest(properties = "stocksmart.sql-accounting.statement-threshold=0")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlAccountingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void controllerResponseReportsStatementsAndTimings(CapturedOutput output) throws Exception {
+        cacheManager.getCache(WarehouseService.TOTALS_CACHE).clear();
+
+        String timing = mockMvc.perform(get("/warehouses"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertThat(timing)
+            .containsPattern("db;dur=[0-9.]+;desc=\"[1-9][0-9]* statements, [0-9]+ rows\"")
+            .contains("sql-flag;desc=\"more than 0 statements\"");
+        assertThat(output).containsPattern("WARN.*method=GET path=/warehouses "
+            + "handler=WarehouseController#findAllWarehouses status=200 statements=[1-9].* writeMs=[0-9.]+ .*flagged=true");
+    }
+
+    @Test
+    void staticResourceIsNotReported() throws Exception {
+        mockMvc.perform(get("/Dashboard/stylesheet.css"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
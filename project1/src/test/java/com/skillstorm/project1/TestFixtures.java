@@ -0,0 +1,167 @@
+package com.skillstorm.project1;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.skillstorm.project1.models.Checkout;
+import com.skillstorm.project1.models.Inventory;
+import com.skillstorm.project1.models.Product;
+import com.skillstorm.project1.models.RestockOrder;
+import com.skillstorm.project1.models.Supplier;
+import com.skillstorm.project1.models.Warehouse;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Creates the warehouses, suppliers, products and inventory rows the integration tests
+ * run against. Every name ends with a suffix unique to the instance, so fixtures never
+ * clash with each other or with existing data, and committed fixtures can be removed
+ * again with {@link #deleteAll(JdbcTemplate)}. Entities are persisted through the given
+ * entity manager, so calls must run inside a transaction.
+ */
+final class TestFixtures {
+
+    private final EntityManager entityManager;
+    private final String suffix = Long.toString(System.nanoTime());
+    private int suppliers;
+    private long restockRef = System.nanoTime();
+
+    /**
+     * Creates a fixture builder with a fresh suffix.
+     *
+     * @param entityManager entity manager the fixtures are persisted with
+     */
+    TestFixtures(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Returns the suffix appended to every name.
+     *
+     * @return the suffix
+     */
+    String suffix() {
+        return suffix;
+    }
+
+    /**
+     * Persists a warehouse with room for 1000 units.
+     *
+     * @param name name, before the suffix
+     * @return the warehouse
+     */
+    Warehouse warehouse(String name) {
+        return persist(new Warehouse(name + " " + suffix, "Test", 1000));
+    }
+
+    /**
+     * Persists a warehouse.
+     *
+     * @param name     name, before the suffix
+     * @param capacity capacity in units
+     * @return the warehouse
+     */
+    Warehouse warehouse(String name, int capacity) {
+        return persist(new Warehouse(name + " " + suffix, "Test", capacity));
+    }
+
+    /**
+     * Persists a supplier with numbered contact details.
+     *
+     * @param name name, before the suffix
+     * @return the supplier
+     */
+    Supplier supplier(String name) {
+        int n = ++suppliers;
+        return persist(new Supplier(name + " " + suffix, "supplier" + n + "@test.com",
+                String.format("555-01%02d", n), n + " Test St"));
+    }
+
+    /**
+     * Persists a product.
+     *
+     * @param name     name, before the suffix
+     * @param price    unit price
+     * @param category category
+     * @param supplier supplier of the product
+     * @return the product
+     */
+    Product product(String name, double price, String category, Supplier supplier) {
+        return persist(new Product(name + " " + suffix, price, category, supplier));
+    }
+
+    /**
+     * Persists an inventory row at location 1.
+     *
+     * @param warehouse    the warehouse
+     * @param product      the product
+     * @param quantity     units in stock
+     * @param minimumStock minimum stock level
+     * @return the inventory row
+     */
+    Inventory inventory(Warehouse warehouse, Product product, int quantity, int minimumStock) {
+        return persist(new Inventory(warehouse, product, quantity, minimumStock, 1));
+    }
+
+    /**
+     * Persists a checkout of one unit.
+     *
+     * @param warehouse the warehouse
+     * @param product   the product
+     * @return the checkout
+     */
+    Checkout checkout(Warehouse warehouse, Product product) {
+        return persist(new Checkout(warehouse, product, 1, "tester@test.com"));
+    }
+
+    /**
+     * Persists a restock order from the product's supplier with its own restock ref.
+     *
+     * @param warehouse the warehouse
+     * @param product   the product
+     * @param amount    units ordered
+     * @return the order
+     */
+    RestockOrder restockOrder(Warehouse warehouse, Product product, int amount) {
+        RestockOrder order = new RestockOrder(warehouse, product, product.getSupplier(), amount, "tester@test.com");
+        order.setRestockRef(restockRef++);
+        return persist(order);
+    }
+
+    /**
+     * Writes the fixtures and detaches them, so tests start from a cold persistence context.
+     */
+    void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Deletes every committed row named with this suffix, and the rows referencing them.
+     *
+     * @param jdbcTemplate template bound to the application's data source
+     */
+    void deleteAll(JdbcTemplate jdbcTemplate) {
+        String pattern = "%" + suffix;
+        String warehouses = "SELECT warehouse_id FROM warehouses WHERE name LIKE ?";
+        String products = "SELECT product_id FROM products WHERE product_name LIKE ?";
+        jdbcTemplate.update("DELETE FROM checkouts WHERE warehouse_id IN (" + warehouses + ") OR product_id IN (" + products + ")",
+                pattern, pattern);
+        jdbcTemplate.update("DELETE FROM restock_orders WHERE warehouse_id IN (" + warehouses + ") OR product_id IN (" + products + ")",
+                pattern, pattern);
+        jdbcTemplate.update("DELETE FROM inventory_transfers WHERE source_warehouse_id IN (" + warehouses + ")"
+                + " OR target_warehouse_id IN (" + warehouses + ") OR product_id IN (" + products + ")",
+                pattern, pattern, pattern);
+        jdbcTemplate.update("DELETE FROM inventory WHERE warehouse_id IN (" + warehouses + ") OR product_id IN (" + products + ")",
+                pattern, pattern);
+        jdbcTemplate.update("DELETE FROM inventory_tombstones WHERE warehouse_id IN (" + warehouses + ") OR product_id IN (" + products + ")",
+                pattern, pattern);
+        jdbcTemplate.update("DELETE FROM products WHERE product_name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM suppliers WHERE name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM warehouses WHERE name LIKE ?", pattern);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
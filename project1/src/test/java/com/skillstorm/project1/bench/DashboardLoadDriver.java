@@ -0,0 +1,504 @@
+package com.skillstorm.project1.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load driver that replays dashboard user flows against a running application.
+ * <p>
+ * Each virtual user has its own HTTP session. It logs in, loads the Dashboard the way
+ * the page does on open, and then repeatedly picks a flow from the configured mix:
+ * </p>
+ * <ul>
+ *   <li>{@code browse}: switch to a random tab; the Warehouses tab also opens one warehouse's inventory</li>
+ *   <li>{@code checkout}: open the checkout modal, pick a warehouse and a stocked product, check out one unit</li>
+ *   <li>{@code restock}: open the restock modal, pick a warehouse and product, check capacity, restock</li>
+ *   <li>{@code transfer}: open a warehouse, open the transfer modal for a stocked row, check capacity, transfer one unit</li>
+ * </ul>
+ * <p>
+ * Every flow issues the same requests, in the same order and with the same parallelism,
+ * as the corresponding code in {@code static/Dashboard}; requests the page fires without
+ * awaiting each other are sent concurrently here too. Like the browser's HTTP cache, each
+ * session keeps the last ETag and body per URL and revalidates with {@code If-None-Match},
+ * so unchanged listings come back as 304. When a tab's fetch pattern changes,
+ * change its flow here so the run keeps measuring what browsers actually send.
+ * </p>
+ * <p>
+ * Latency is recorded in HdrHistograms per endpoint (by method and path template) and
+ * per flow, after a warm-up period. The report prints count, errors, 409 conflicts,
+ * 304 revalidations, throughput and p50/p90/p99/p99.9/max per row, and writes each histogram's full
+ * percentile distribution ({@code .hgrm}) plus a {@code summary.csv} to the output directory,
+ * so two runs can be compared or plotted.
+ * </p>
+ * <pre>
+ * java -jar target/project1-1.0.0.jar --spring.jpa.show-sql=false &amp;
+ * mvn -DskipTests test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:$(cat target/test.classpath) com.skillstorm.project1.bench.DashboardLoadDriver \
+ *      [--url=http://localhost:8080] [--users=20] [--warmup=10] [--duration=60] [--think=0]
+ *      [--mix=browse:60,checkout:20,restock:10,transfer:10] [--actions-per-session=50]
+ *      [--email=user1@stocksmart.test] [--password=password] [--seed=1] [--out=target/loadtest]
+ * </pre>
+ * The default credentials are those of the {@code generate-data} profile's users.
+ */
+public final class DashboardLoadDriver {
+
+    /** Highest latency tracked by the histograms, in microseconds. */
+    private static final long MAX_TRACKABLE_MICROS = Duration.ofMinutes(2).toNanos() / 1000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final String[] TABS = { "restocks", "checkouts", "warehouses", "products", "suppliers" };
+
+    /** Latency histogram and counters for one endpoint or flow. */
+    static final class Stats {
+        final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+    }
+
+    private final URI baseUri;
+    private final String email;
+    private final String password;
+    private final Map<String, Integer> mix;
+    private final int actionsPerSession;
+    private final Duration think;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile boolean stopping;
+
+    private DashboardLoadDriver(URI baseUri, String email, String password, Map<String, Integer> mix,
+                              int actionsPerSession, Duration think) {
+        this.baseUri = baseUri;
+        this.email = email;
+        this.password = password;
+        this.mix = mix;
+        this.actionsPerSession = actionsPerSession;
+        this.think = think;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        URI baseUri = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest"));
+
+        DashboardLoadDriver driver = new DashboardLoadDriver(baseUri,
+                options.getOrDefault("email", "user1@stocksmart.test"),
+                options.getOrDefault("password", "password"),
+                parseMix(options.getOrDefault("mix", "browse:60,checkout:20,restock:10,transfer:10")),
+                Integer.parseInt(options.getOrDefault("actions-per-session", "50")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("think", "0"))));
+
+        System.out.printf("Driving %s with %d users: %ds warm-up, %ds measured%n",
+                baseUri, users, warmup.toSeconds(), duration.toSeconds());
+        Thread[] threads = new Thread[users];
+        for (int i = 0; i < users; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            threads[i] = new Thread(() -> driver.runUser(random), "load-user-" + i);
+            threads[i].start();
+        }
+        Thread.sleep(warmup.toMillis());
+        driver.recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        driver.recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        driver.stopping = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        driver.report(seconds, out);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split(":");
+            if (!List.of("browse", "checkout", "restock", "transfer").contains(parts[0])) {
+                throw new IllegalArgumentException("Unknown flow " + parts[0]);
+            }
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+
+    // ============================== USER FLOWS ==============================
+
+    /**
+     * One virtual user: log in, load the Dashboard, run flows, and start a new session
+     * after {@code actionsPerSession} flows. Failures end the current session.
+     */
+    private void runUser(SplittableRandom random) {
+        while (!stopping) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(new CookieManager())
+                    .build();
+            try {
+                Session session = login(client);
+                for (int i = 0; i < actionsPerSession && !stopping; i++) {
+                    String flow = pickFlow(random);
+                    long started = System.nanoTime();
+                    switch (flow) {
+                        case "browse" -> browse(session, random);
+                        case "checkout" -> checkout(session, random);
+                        case "restock" -> restock(session, random);
+                        default -> transfer(session, random);
+                    }
+                    record("flow " + flow, System.nanoTime() - started, 200);
+                    if (!think.isZero()) {
+                        Thread.sleep(think.toMillis());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (recording) {
+                    stats("flow aborted").errors.increment();
+                }
+            }
+        }
+    }
+
+    /** Login page submit, then the Dashboard page and its initial fetches (Dashboard.js INITIAL LOAD). */
+    private Session login(HttpClient client) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Session session = new Session(client);
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        if (session.send("POST /users/login", "POST", "/users/login", body).status() != 200) {
+            throw new IllegalStateException("Login failed for " + email);
+        }
+        session.get("GET /Dashboard", "/Dashboard");
+        List<Reply> responses = session.parallel(
+                get("GET /users/current-user", "/users/current-user"),
+                get("GET /restocks", "/restocks"),
+                get("GET /dashboard/kpis", "/dashboard/kpis"),
+                get("GET /warehouses", "/warehouses"));
+        session.warehouseIds = ids(responses.get(3), "warehouseId");
+        if (session.warehouseIds.isEmpty()) {
+            throw new IllegalStateException("No warehouses to drive");
+        }
+        record("flow login", System.nanoTime() - started, 200);
+        return session;
+    }
+
+    /** Tab switch (Dashboard.js TAB SWITCHING); on Warehouses, also opens one warehouse. */
+    private void browse(Session session, SplittableRandom random) throws IOException, InterruptedException {
+        switch (TABS[random.nextInt(TABS.length)]) {
+            case "restocks" -> session.get("GET /restocks", "/restocks");
+            case "checkouts" -> session.get("GET /checkouts/page", "/checkouts/page?size=50");
+            case "products" -> session.get("GET /products", "/products");
+            case "suppliers" -> session.get("GET /suppliers", "/suppliers");
+            default -> {
+                session.get("GET /warehouses", "/warehouses");
+                session.get("GET /inventory/warehouse/{id}", "/inventory/warehouse/" + pick(session.warehouseIds, random));
+            }
+        }
+    }
+
+    /** CheckoutsTab.js: openCheckoutModal, warehouse and product selection, submitCheckout. */
+    private void checkout(Session session, SplittableRandom random) throws IOException, InterruptedException {
+        session.get("GET /products", "/products");
+        session.get("GET /warehouses", "/warehouses");
+        long warehouseId = pick(session.warehouseIds, random);
+        JsonNode item = pickStocked(session.get("GET /inventory/warehouse/{id}", "/inventory/warehouse/" + warehouseId), random);
+        if (item == null) {
+            return;
+        }
+        long productId = item.path("product").path("productId").asLong();
+        session.get("GET /products/{id}", "/products/" + productId);
+        String body = objectMapper.writeValueAsString(Map.of(
+                "warehouseId", warehouseId, "productId", productId, "amount", 1, "email", email));
+        if (session.send("POST /checkouts/create_checkout", "POST", "/checkouts/create_checkout", body).status() == 201) {
+            session.parallel(
+                    get("GET /dashboard/kpis", "/dashboard/kpis"),
+                    get("GET /warehouses", "/warehouses"),
+                    get("GET /checkouts/page", "/checkouts/page?size=50"));
+        }
+    }
+
+    /** RestockOrdersTab.js: openRestockModal, warehouse and product selection, capacity check, submit. */
+    private void restock(Session session, SplittableRandom random) throws IOException, InterruptedException {
+        session.get("GET /products", "/products");
+        session.get("GET /warehouses", "/warehouses");
+        long warehouseId = pick(session.warehouseIds, random);
+        List<Long> productIds = ids(session.get("GET /products", "/products"), "productId");
+        if (productIds.isEmpty()) {
+            return;
+        }
+        long productId = pick(productIds, random);
+        session.get("GET /products/{id}", "/products/" + productId);
+        checkCapacity(session, warehouseId);
+        String body = objectMapper.writeValueAsString(Map.of(
+                "warehouseId", warehouseId, "productId", productId, "amount", 1 + random.nextInt(20), "orderedBy", email));
+        if (session.send("POST /restocks/create_restock", "POST", "/restocks/create_restock", body).status() == 201) {
+            session.parallel(
+                    get("GET /dashboard/kpis", "/dashboard/kpis"),
+                    get("GET /restocks", "/restocks"),
+                    get("GET /warehouses", "/warehouses"));
+        }
+    }
+
+    /** WarehousesTab.js: open a warehouse, openTransferInventoryModal, confirmTransferInventory. */
+    private void transfer(Session session, SplittableRandom random) throws IOException, InterruptedException {
+        if (session.warehouseIds.size() < 2) {
+            return;
+        }
+        session.get("GET /warehouses", "/warehouses");
+        long fromId = pick(session.warehouseIds, random);
+        JsonNode item = pickStocked(session.get("GET /inventory/warehouse/{id}", "/inventory/warehouse/" + fromId), random);
+        if (item == null) {
+            return;
+        }
+        long productId = item.path("product").path("productId").asLong();
+        session.get("GET /inventory/product/{id}/stock", "/inventory/product/" + productId + "/stock");
+        long toId;
+        do {
+            toId = pick(session.warehouseIds, random);
+        } while (toId == fromId);
+        checkCapacity(session, toId);
+        String path = "/inventory/transfer/" + item.path("inventoryId").asLong() + "/" + toId;
+        if (session.send("PUT /inventory/transfer/{id}/{warehouseId}", "PUT", path, "{\"amount\":1}").status() == 200) {
+            session.parallel(
+                    get("GET /dashboard/kpis", "/dashboard/kpis"),
+                    get("GET /warehouses", "/warehouses"),
+                    get("GET /inventory/warehouse/{id}", "/inventory/warehouse/" + fromId));
+        }
+    }
+
+    /** Dashboard.js checkWarehouseCapacity: the warehouse's inventory and the warehouse, in parallel. */
+    private void checkCapacity(Session session, long warehouseId) throws IOException, InterruptedException {
+        session.parallel(
+                get("GET /inventory/warehouse/{id}", "/inventory/warehouse/" + warehouseId),
+                get("GET /warehouses/{id}", "/warehouses/" + warehouseId));
+    }
+
+    private String pickFlow(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty flow mix");
+    }
+
+    private static long pick(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    /** Picks a random inventory row with stock left, as a user would from the product list. */
+    private JsonNode pickStocked(Reply inventory, SplittableRandom random) throws IOException {
+        List<JsonNode> stocked = new ArrayList<>();
+        for (JsonNode row : objectMapper.readTree(inventory.body())) {
+            if (row.path("quantity").asInt() > 0) {
+                stocked.add(row);
+            }
+        }
+        return stocked.isEmpty() ? null : stocked.get(random.nextInt(stocked.size()));
+    }
+
+    private List<Long> ids(Reply response, String field) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        if (response.status() == 200 || response.status() == 304) {
+            for (JsonNode node : objectMapper.readTree(response.body())) {
+                ids.add(node.path(field).asLong());
+            }
+        }
+        return ids;
+    }
+
+    // ============================== REQUESTS ==============================
+
+    /** A labelled GET, for {@link Session#parallel}. */
+    private record Call(String label, String path) {
+    }
+
+    private static Call get(String label, String path) {
+        return new Call(label, path);
+    }
+
+    /** A response as the page sees it: a 304 carries the body cached from the last 200. */
+    private record Reply(int status, String body) {
+    }
+
+    /** ETag and body of the last 200 for a URL. */
+    private record Cached(String etag, String body) {
+    }
+
+    /** One logged-in browser session. */
+    private final class Session {
+
+        private final HttpClient client;
+        private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+        private List<Long> warehouseIds = List.of();
+
+        Session(HttpClient client) {
+            this.client = client;
+        }
+
+        Reply get(String label, String path) throws IOException, InterruptedException {
+            return send(label, "GET", path, null);
+        }
+
+        Reply send(String label, String method, String path, String json)
+                throws IOException, InterruptedException {
+            HttpRequest request = request(method, path, json);
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                record(label, System.nanoTime() - started, response.statusCode());
+                return reply(path, response);
+            } catch (IOException e) {
+                stats(label).errors.increment();
+                throw e;
+            }
+        }
+
+        /** Sends GETs concurrently, like un-awaited fetches in the page, and waits for all of them. */
+        List<Reply> parallel(Call... calls) {
+            List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>();
+            for (Call call : calls) {
+                long started = System.nanoTime();
+                futures.add(client.sendAsync(request("GET", call.path(), null), HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            if (error != null) {
+                                stats(call.label()).errors.increment();
+                            } else {
+                                record(call.label(), System.nanoTime() - started, response.statusCode());
+                            }
+                        }));
+            }
+            List<Reply> replies = new ArrayList<>();
+            for (int i = 0; i < calls.length; i++) {
+                replies.add(reply(calls[i].path(), futures.get(i).join()));
+            }
+            return replies;
+        }
+
+        /** Remembers the ETag and body of a 200, and answers a 304 with the remembered body. */
+        private Reply reply(String path, HttpResponse<String> response) {
+            if (response.statusCode() == 304) {
+                Cached cached = cache.get(path);
+                return new Reply(304, cached == null ? "" : cached.body());
+            }
+            if (response.statusCode() == 200) {
+                response.headers().firstValue("ETag").ifPresent(etag -> cache.put(path, new Cached(etag, response.body())));
+            }
+            return new Reply(response.statusCode(), response.body());
+        }
+
+        private HttpRequest request(String method, String path, String json) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+            Cached cached = method.equals("GET") ? cache.get(path) : null;
+            if (cached != null) {
+                builder.header("If-None-Match", cached.etag());
+            }
+            if (json == null) {
+                return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+            }
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json)).build();
+        }
+    }
+
+    // ============================== RESULTS ==============================
+
+    private Stats stats(String label) {
+        return stats.computeIfAbsent(label, key -> new Stats());
+    }
+
+    /** Records a response; 409 is the application's "not enough stock", counted apart from errors, as are 304s. */
+    private void record(String label, long nanos, int status) {
+        if (!recording) {
+            return;
+        }
+        Stats s = stats(label);
+        s.histogram.recordValue(Math.min(nanos / 1000, MAX_TRACKABLE_MICROS));
+        if (status == 304) {
+            s.notModified.increment();
+        } else if (status == 409) {
+            s.conflicts.increment();
+        } else if (status >= 400) {
+            s.errors.increment();
+        }
+    }
+
+    private void report(double seconds, Path out) throws IOException {
+        Files.createDirectories(out);
+        String header = String.format("%-44s %8s %7s %7s %7s %9s %9s %9s %9s %9s %9s",
+                "endpoint / flow", "count", "errors", "409s", "304s", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        List<String> csv = new ArrayList<>(List.of("label,count,errors,conflicts,not_modified,per_second,p50_ms,p90_ms,p99_ms,p999_ms,max_ms"));
+        System.out.println();
+        System.out.println(header);
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            String label = entry.getKey();
+            Stats s = entry.getValue();
+            Histogram h = s.histogram;
+            double[] ms = { millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0 };
+            System.out.printf("%-44s %8d %7d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", label, h.getTotalCount(),
+                    s.errors.sum(), s.conflicts.sum(), s.notModified.sum(), h.getTotalCount() / seconds, ms[0], ms[1], ms[2], ms[3], ms[4]);
+            csv.add(String.format("\"%s\",%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f", label, h.getTotalCount(),
+                    s.errors.sum(), s.conflicts.sum(), s.notModified.sum(), h.getTotalCount() / seconds, ms[0], ms[1], ms[2], ms[3], ms[4]));
+            if (h.getTotalCount() > 0) {
+                try (PrintStream hgrm = new PrintStream(out.resolve(fileName(label) + ".hgrm").toFile())) {
+                    h.outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+        }
+        Files.write(out.resolve("summary.csv"), csv);
+        System.out.printf("%nHistograms (.hgrm, in ms) and summary.csv written to %s%n", out.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String fileName(String label) {
+        return label.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
@@ -0,0 +1,230 @@
+package com.skillstorm.project1.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Load benchmark comparing Tomcat on platform threads with Tomcat on virtual threads.
+ * <p>
+ * For each thread mode the benchmark starts the packaged application in its own JVM
+ * against the database configured in {@code application.properties}, waits until it
+ * answers, and then drives each path with a fixed number of closed-loop clients: a
+ * warm-up period that is discarded, followed by a measured period. It prints requests
+ * per second and p50/p99/max latency, from an HdrHistogram per run, for every mode,
+ * path and concurrency level.
+ * Virtual-thread mode is skipped when the JVM is older than 21. To benchmark a build
+ * compiled for 21, add {@code -Pjava21} to the package command below.
+ * </p>
+ * <p>
+ * The default paths are a single inventory row and a page of checkouts: short
+ * indexed queries whose requests mostly wait on JDBC, which is where the thread mode
+ * matters. The full {@code /inventory} and {@code /checkouts} listings return whole
+ * tables, so at production size they measure JSON encoding rather than request
+ * threading; pass them with {@code --paths} to include them anyway.
+ * </p>
+ * <pre>
+ * mvn -DskipTests package dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:$(cat target/test.classpath) com.skillstorm.project1.bench.ThreadModeBenchmark \
+ *      target/project1-1.0.0.jar \
+ *      [--paths=/inventory/1,/checkouts/page?size=50] [--concurrency=50,400]
+ *      [--warmup=10] [--duration=30] [--port=8081]
+ * </pre>
+ * Application output goes to {@code target/benchmark-<mode>.log}. In virtual mode the
+ * JVM also logs pinned carrier threads there ({@code jdk.tracePinnedThreads}).
+ */
+public final class ThreadModeBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /** Highest latency tracked by the histograms, in microseconds. */
+    private static final long MAX_TRACKABLE_MICROS = REQUEST_TIMEOUT.multipliedBy(2).toNanos() / 1000;
+
+    /** Result of one measured period, with latencies in microseconds. */
+    record Result(String mode, String path, int concurrency, long errors, double seconds, Histogram latencies) {
+
+        long requests() {
+            return latencies.getTotalCount();
+        }
+
+        double throughput() {
+            return requests() / seconds;
+        }
+
+        double percentileMillis(double percentile) {
+            if (requests() == 0) {
+                return Double.NaN;
+            }
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println("usage: ThreadModeBenchmark <application jar> [--paths=..] [--concurrency=..] "
+                    + "[--warmup=seconds] [--duration=seconds] [--port=..]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]);
+        Map<String, String> options = parseOptions(Arrays.copyOfRange(args, 1, args.length));
+        List<String> paths = List.of(options.getOrDefault("paths", "/inventory/1,/checkouts/page?size=50").split(","));
+        int[] concurrencies = Arrays.stream(options.getOrDefault("concurrency", "50,400").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        int port = Integer.parseInt(options.getOrDefault("port", "8081"));
+
+        List<Result> results = new ArrayList<>();
+        System.out.println(header());
+        for (String mode : List.of("platform", "virtual")) {
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.printf("Skipping virtual mode: requires Java 21, running on %s%n", Runtime.version());
+                continue;
+            }
+            Process app = start(jar, mode, port);
+            try {
+                awaitReady(app, port);
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                for (String path : paths) {
+                    URI uri = URI.create("http://localhost:" + port + path);
+                    for (int concurrency : concurrencies) {
+                        run(client, uri, mode, concurrency, warmup);
+                        Result result = run(client, uri, mode, concurrency, duration);
+                        results.add(result);
+                        System.out.println(format(result));
+                    }
+                }
+            } finally {
+                app.destroy();
+                if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                    app.destroyForcibly();
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(header());
+        results.forEach(result -> System.out.println(format(result)));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static Process start(Path jar, String mode, int port) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java, "-Djdk.tracePinnedThreads=short", "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        Path log = Path.of("target", "benchmark-" + mode + ".log");
+        Files.createDirectories(log.getParent());
+        System.out.printf("Starting %s mode on port %d (log: %s)%n", mode, port, log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    private static void awaitReady(Process app, int port) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/warehouses")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + app.exitValue());
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not start within " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * Runs closed-loop clients against one URI: each client sends its next request as
+     * soon as the previous response has been read.
+     */
+    private static Result run(HttpClient client, URI uri, String mode, int concurrency, Duration duration)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).build();
+        Histogram[] latencies = new Histogram[concurrency];
+        long[] errors = new long[concurrency];
+        Thread[] clients = new Thread[concurrency];
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            int id = i;
+            latencies[i] = new Histogram(MAX_TRACKABLE_MICROS, 3);
+            clients[i] = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    long sent = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors[id]++;
+                        }
+                    } catch (IOException e) {
+                        errors[id]++;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    latencies[id].recordValue(Math.min((System.nanoTime() - sent) / 1000, MAX_TRACKABLE_MICROS));
+                }
+            }, "bench-client-" + i);
+            clients[i].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Histogram all = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        for (Histogram histogram : latencies) {
+            all.add(histogram);
+        }
+        return new Result(mode, uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()),
+                concurrency, Arrays.stream(errors).sum(), seconds, all);
+    }
+
+    private static String header() {
+        return String.format("%-9s %-36s %6s %9s %7s %10s %9s %9s %9s",
+                "mode", "path", "conc", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+    }
+
+    private static String format(Result r) {
+        return String.format("%-9s %-36s %6d %9d %7d %10.1f %9.1f %9.1f %9.1f",
+                r.mode(), r.path(), r.concurrency(), r.requests(), r.errors(), r.throughput(),
+                r.percentileMillis(50), r.percentileMillis(99), r.percentileMillis(100));
+    }
+}